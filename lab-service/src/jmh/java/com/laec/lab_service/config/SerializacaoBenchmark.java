@@ -0,0 +1,133 @@
+package com.laec.lab_service.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.laec.lab_service.dto.AulaPraticaResponseDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização do histórico de uma turma (GET /api/aulas/turma/{id}) em JSON, CBOR e Smile,
+ * com o ObjectMapper configurado como no Spring Boot (datas ISO-8601).
+ * O tamanho de cada payload sai no resultado como métrica secundária "bytes" (TamanhoPayload).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    private static final int GRUPOS_POR_AULA = 12;
+    private static final TypeReference<List<AulaPraticaResponseDTO>> LISTA_AULAS = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile"})
+    public String formato;
+
+    @Param({"500"})
+    public int totalAulas;
+
+    private ObjectMapper objectMapper;
+    private List<AulaPraticaResponseDTO> historico;
+    private byte[] payload;
+
+    @Setup
+    public void setup() throws Exception {
+        JsonFactory factory = switch (formato) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .factory(factory)
+                .build();
+
+        historico = historico(totalAulas);
+        payload = objectMapper.writeValueAsBytes(historico);
+    }
+
+    @Benchmark
+    public byte[] serializar(TamanhoPayload tamanho) throws Exception {
+        byte[] serializado = objectMapper.writeValueAsBytes(historico);
+        tamanho.bytes = serializado.length;
+        return serializado;
+    }
+
+    @Benchmark
+    public List<AulaPraticaResponseDTO> desserializar(TamanhoPayload tamanho) throws Exception {
+        tamanho.bytes = payload.length;
+        return objectMapper.readValue(payload, LISTA_AULAS);
+    }
+
+    /**
+     * Tamanho do payload serializado, reportado pelo JMH ao lado do tempo (o valor é atribuído, não somado)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class TamanhoPayload {
+        public long bytes;
+    }
+
+    /**
+     * Histórico sintético com semente fixa: aulas semanais, 12 grupos em dois turnos de 6, algumas faltas
+     */
+    private static List<AulaPraticaResponseDTO> historico(int totalAulas) {
+        Random random = new Random(42);
+        LocalDateTime criacao = LocalDateTime.of(2026, 2, 1, 8, 0);
+        List<AulaPraticaResponseDTO> aulas = new ArrayList<>(totalAulas);
+        for (int a = 0; a < totalAulas; a++) {
+            List<AulaPraticaResponseDTO.GrupoAulaDTO> grupos = new ArrayList<>(GRUPOS_POR_AULA);
+            for (int g = 0; g < GRUPOS_POR_AULA; g++) {
+                grupos.add(AulaPraticaResponseDTO.GrupoAulaDTO.builder()
+                        .grupoAulaId(a * GRUPOS_POR_AULA + g + 1)
+                        .grupoId(g + 1)
+                        .numeroGrupo(g + 1)
+                        .nomeGrupo("Grupo " + (g + 1))
+                        .turno(g < GRUPOS_POR_AULA / 2 ? 1 : 2)
+                        .ordemExecucao(g % (GRUPOS_POR_AULA / 2) + 1)
+                        .presente(random.nextInt(10) != 0)
+                        .provisorio(false)
+                        .build());
+            }
+            aulas.add(AulaPraticaResponseDTO.builder()
+                    .aulaId(a + 1)
+                    .turmaId(1)
+                    .dataAula(LocalDate.of(2026, 2, 2).plusWeeks(a))
+                    .numeroAula(a + 1)
+                    .tema("Prática " + (a + 1))
+                    .procedimento("Procedimento " + (a % 20 + 1))
+                    .gruposParticipantes(grupos)
+                    .totalGruposPrimeiroTurno(GRUPOS_POR_AULA / 2)
+                    .totalGruposSegundoTurno(GRUPOS_POR_AULA / 2)
+                    .totalGruposPorTurno(List.of(GRUPOS_POR_AULA / 2, GRUPOS_POR_AULA / 2))
+                    .createdAt(criacao.plusMinutes(a))
+                    .updatedAt(criacao.plusMinutes(a))
+                    .build());
+        }
+        return aulas;
+    }
+}
@@ -0,0 +1,75 @@
+package com.laec.lab_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laec.lab_service.dto.AulaPraticaResponseDTO;
+import com.laec.lab_service.repository.AulaPraticaRepository;
+import com.laec.lab_service.repository.EventoGrupoRepository;
+import com.laec.lab_service.repository.EventoOutboxRepository;
+import com.laec.lab_service.repository.GrupoAulaRepository;
+import com.laec.lab_service.repository.GrupoRepository;
+import com.laec.lab_service.repository.TurmaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão de uma aula com todos os participantes para AulaPraticaResponseDTO (toResponseDTO),
+ * medida por getAulaById com o repositório devolvendo a aula já carregada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AulaPraticaBenchmark {
+
+    @Param({"8", "16", "64", "1000"})
+    public int totalGrupos;
+
+    private AulaPraticaService aulaPraticaService;
+
+    @Setup
+    public void setup() {
+        TurmaSintetica.silenciarLogs();
+        TurmaSintetica turma = new TurmaSintetica(totalGrupos);
+
+        AulaPraticaRepository aulaPraticaRepository = TurmaSintetica.repositorio(AulaPraticaRepository.class, Map.of(
+                "findComParticipantesByAulaId", args -> Optional.of(turma.aula)));
+        GrupoRepository grupoRepository = TurmaSintetica.repositorio(GrupoRepository.class, Map.of());
+        GrupoAulaRepository grupoAulaRepository = TurmaSintetica.repositorio(GrupoAulaRepository.class, Map.of());
+        TurmaRepository turmaRepository = TurmaSintetica.repositorio(TurmaRepository.class, Map.of(
+                "findById", args -> Optional.of(turma.turma)));
+        EventoGrupoRepository eventoGrupoRepository = TurmaSintetica.repositorio(EventoGrupoRepository.class, Map.of());
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RodizioTurmaCache rodizioTurmaCache = TurmaSintetica.rodizioTurmaCache(meterRegistry);
+        TurmaService turmaService = new TurmaService(turmaRepository, rodizioTurmaCache,
+                TurmaSintetica.turmaCache(meterRegistry), TurmaSintetica.anosLetivosAgregado());
+        GrupoService grupoService = new GrupoService(grupoRepository, turmaService, eventoGrupoRepository,
+                rodizioTurmaCache);
+        // getAulaById não grava eventos: o outbox não precisa de relay
+        OutboxEventos outboxEventos = new OutboxEventos(
+                TurmaSintetica.repositorio(EventoOutboxRepository.class, Map.of()), null, new ObjectMapper());
+        aulaPraticaService = new AulaPraticaService(aulaPraticaRepository, grupoRepository, grupoAulaRepository,
+                turmaService, grupoService, outboxEventos);
+    }
+
+    @Benchmark
+    public AulaPraticaResponseDTO toResponseDTO() {
+        return aulaPraticaService.getAulaById(TurmaSintetica.AULA_ID);
+    }
+}
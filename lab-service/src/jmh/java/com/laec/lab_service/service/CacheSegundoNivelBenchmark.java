@@ -0,0 +1,130 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.LabServiceApplication;
+import com.laec.lab_service.dto.AulaPraticaRequestDTO;
+import com.laec.lab_service.dto.AulaPraticaResponseDTO;
+import com.laec.lab_service.dto.GrupoRequestDTO;
+import com.laec.lab_service.dto.TurmaRequestDTO;
+import com.laec.lab_service.entity.Turma;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fluxos de alocação e conclusão de aula com o cache de segundo nível do Hibernate ligado e desligado.
+ * Diferente dos demais benchmarks, sobe o contexto Spring (sem web) e usa o banco de application.properties,
+ * como os testes: cria uma turma própria no setup e a remove no teardown.
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="CacheSegundoNivelBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CacheSegundoNivelBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheSegundoNivel;
+
+    @Param({"16", "64"})
+    public int totalGrupos;
+
+    private ConfigurableApplicationContext contexto;
+    private AulaPraticaService aulaPraticaService;
+    private Integer turmaId;
+    private Integer aulaConcluida;
+    private List<Integer> gruposIds;
+    private int totalAulas;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        contexto = new SpringApplicationBuilder(LabServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cacheSegundoNivel,
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=" + cacheSegundoNivel,
+                        "spring.jpa.show-sql=false",
+                        "eureka.client.enabled=false",
+                        "logging.level.root=WARN")
+                .run();
+        aulaPraticaService = contexto.getBean(AulaPraticaService.class);
+        GrupoService grupoService = contexto.getBean(GrupoService.class);
+
+        // Ano fora do calendário real para não colidir com turmas existentes
+        turmaId = contexto.getBean(TurmaService.class).criarTurma(new TurmaRequestDTO(
+                9000 + (int) (System.nanoTime() % 999), Turma.Semestre.primeiro, Turma.Turno.noturno,
+                Turma.Unidade.perimetral, Turma.DiaSemana.sexta, "Cache de segundo nível",
+                totalGrupos / 2, 2)).getTurmaId();
+
+        gruposIds = new ArrayList<>(totalGrupos);
+        for (int numero = 1; numero <= totalGrupos; numero++) {
+            gruposIds.add(grupoService.criarGrupo(new GrupoRequestDTO(turmaId, numero, "Grupo " + numero)).getGrupoId());
+        }
+        aulaConcluida = criarAula().getAulaId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM eventos_outbox WHERE aula_id IN "
+                + "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+        jdbcTemplate.update("DELETE FROM eventos_grupos WHERE turma_id = ?", turmaId);
+        jdbcTemplate.update("DELETE FROM grupos_aulas WHERE aula_id IN "
+                + "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+        jdbcTemplate.update("DELETE FROM aulas_praticas WHERE turma_id = ?", turmaId);
+        jdbcTemplate.update("DELETE FROM grupos WHERE turma_id = ?", turmaId);
+        jdbcTemplate.update("DELETE FROM turmas WHERE turma_id = ?", turmaId);
+        contexto.close();
+    }
+
+    /**
+     * Criação de aula com todos os grupos: turma, grupos em ordem de prioridade (consulta em cache) e inserção
+     */
+    @Benchmark
+    public AulaPraticaResponseDTO alocacao() {
+        return criarAula();
+    }
+
+    /**
+     * Conclusão de aula: participações, regras do rodízio e gravação dos contadores (que invalida os grupos no cache)
+     */
+    @Benchmark
+    public AulaPraticaResponseDTO conclusao() {
+        return aulaPraticaService.concluirAula(aulaConcluida);
+    }
+
+    /**
+     * Aula inteira, alocação seguida da conclusão: a consulta de prioridade nunca encontra o resultado em cache
+     */
+    @Benchmark
+    public AulaPraticaResponseDTO alocacaoEConclusao() {
+        return aulaPraticaService.concluirAula(criarAula().getAulaId());
+    }
+
+    private AulaPraticaResponseDTO criarAula() {
+        totalAulas++;
+        return aulaPraticaService.criarAula(new AulaPraticaRequestDTO(turmaId,
+                LocalDate.of(2100, 1, 1).plusDays(totalAulas), totalAulas, "Aula " + totalAulas, null, null,
+                gruposIds));
+    }
+}
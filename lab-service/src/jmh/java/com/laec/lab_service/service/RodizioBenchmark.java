@@ -0,0 +1,131 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.ContadoresRodizio;
+import com.laec.lab_service.dto.PrioridadeGruposDTO;
+import com.laec.lab_service.dto.RodizioAplicadoDTO;
+import com.laec.lab_service.entity.GrupoAula;
+import com.laec.lab_service.repository.EventoGrupoRepository;
+import com.laec.lab_service.repository.GrupoRepository;
+import com.laec.lab_service.repository.TurmaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caminhos quentes do rodízio: prioridade da próxima aula (com e sem cache),
+ * inversão de posições e ordenação da fila no MotorRodizio e conclusão de uma aula inteira.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RodizioBenchmark {
+
+    @Param({"8", "16", "64", "1000"})
+    public int totalGrupos;
+
+    private GrupoService grupoService;
+    private RodizioTurmaCache rodizioTurmaCache;
+    private List<GrupoAula> participacoes;
+    private MotorRodizio motor;
+    private int[] turnos;
+    private boolean[] presencas;
+
+    @Setup
+    public void setup() {
+        TurmaSintetica.silenciarLogs();
+        TurmaSintetica turma = new TurmaSintetica(totalGrupos);
+        participacoes = turma.aula.getGruposParticipantes();
+
+        motor = new MotorRodizio(totalGrupos);
+        turnos = new int[totalGrupos];
+        presencas = new boolean[totalGrupos];
+        for (int i = 0; i < totalGrupos; i++) {
+            motor.adicionar(turma.grupos.get(i));
+            turnos[i] = participacoes.get(i).getTurno();
+            presencas[i] = participacoes.get(i).getPresente();
+        }
+
+        // O UPDATE da conclusão devolve o estado de cada grupo; aqui, o estado atual dos grupos sintéticos
+        List<RodizioAplicadoDTO> aplicados = turma.grupos.stream()
+                .map(g -> new RodizioAplicadoDTO(TurmaSintetica.TURMA_ID, totalGrupos, ContadoresRodizio.de(g)))
+                .toList();
+        GrupoRepository grupoRepository = TurmaSintetica.repositorio(GrupoRepository.class, Map.of(
+                "findByTurmaOrderByPrioridade", args -> turma.grupos,
+                "aplicarConclusao", args -> aplicados));
+        EventoGrupoRepository eventoGrupoRepository = TurmaSintetica.repositorio(EventoGrupoRepository.class, Map.of());
+        TurmaRepository turmaRepository = TurmaSintetica.repositorio(TurmaRepository.class, Map.of(
+                "findById", args -> Optional.of(turma.turma)));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        rodizioTurmaCache = TurmaSintetica.rodizioTurmaCache(meterRegistry);
+        TurmaService turmaService = new TurmaService(turmaRepository, rodizioTurmaCache,
+                TurmaSintetica.turmaCache(meterRegistry), TurmaSintetica.anosLetivosAgregado());
+        grupoService = new GrupoService(grupoRepository, turmaService, eventoGrupoRepository, rodizioTurmaCache);
+    }
+
+    /**
+     * Leitura da prioridade com a turma em cache (caso comum da tela de alocação)
+     */
+    @Benchmark
+    public PrioridadeGruposDTO prioridadeEmCache() {
+        return grupoService.calcularPrioridadeParaProximaAula(TurmaSintetica.TURMA_ID);
+    }
+
+    /**
+     * Leitura da prioridade reconstruindo o estado: ordenação e montagem do DTO a partir dos grupos
+     */
+    @Benchmark
+    public PrioridadeGruposDTO prioridadeSemCache() {
+        rodizioTurmaCache.invalidar(TurmaSintetica.TURMA_ID);
+        return grupoService.calcularPrioridadeParaProximaAula(TurmaSintetica.TURMA_ID);
+    }
+
+    /**
+     * Inversão de posições e contadores de turno de todos os grupos, sem acesso a banco
+     */
+    @Benchmark
+    public void inversaoPosicoes(Blackhole blackhole) {
+        for (int i = 0; i < totalGrupos; i++) {
+            motor.aplicar(i, turnos[i], presencas[i], MotorRodizio.SEM_ANTERIOR, totalGrupos);
+        }
+        blackhole.consume(motor.posicao(0));
+    }
+
+    /**
+     * Ordenação da fila por prioridade e atribuição de turno/ordem, como em cada aula do plano
+     */
+    @Benchmark
+    public void ordenacaoFila(Blackhole blackhole) {
+        motor.ordenar();
+        for (int k = 0; k < totalGrupos; k++) {
+            blackhole.consume(motor.naFila(k) + CapacidadeTurma.PADRAO.turnoNaFila(k, totalGrupos)
+                    + CapacidadeTurma.PADRAO.ordemNaFila(k, totalGrupos));
+        }
+    }
+
+    /**
+     * Conclusão da aula sem o banco: parâmetros do UPDATE em lote, eventos montados e cache atualizado
+     */
+    @Benchmark
+    public void conclusaoAula() {
+        grupoService.atualizarPrioridadesAposAula(TurmaSintetica.TURMA_ID, participacoes);
+    }
+}
@@ -0,0 +1,137 @@
+package com.laec.lab_service.service;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.laec.lab_service.entity.AulaPratica;
+import com.laec.lab_service.entity.Grupo;
+import com.laec.lab_service.entity.GrupoAula;
+import com.laec.lab_service.entity.Turma;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Dados sintéticos e repositórios falsos para os benchmarks, sem Spring nem banco.
+ * A semente é fixa para que todas as execuções meçam exatamente o mesmo cenário.
+ */
+final class TurmaSintetica {
+
+    static final Integer TURMA_ID = 1;
+    static final Integer AULA_ID = 1;
+
+    final Turma turma;
+    final List<Grupo> grupos;
+    final AulaPratica aula;
+
+    TurmaSintetica(int totalGrupos) {
+        Random random = new Random(42);
+
+        turma = new Turma();
+        turma.setTurmaId(TURMA_ID);
+        turma.setAno(2026);
+        turma.setSemestre(Turma.Semestre.segundo);
+        turma.setNomeTurma("Turma sintética");
+
+        // Posições embaralhadas como após algumas aulas, com grupos novos (null) e faltantes (0)
+        List<Integer> posicoes = new ArrayList<>();
+        for (int i = 1; i <= totalGrupos; i++) {
+            posicoes.add(i % 10 == 0 ? null : i % 7 == 0 ? 0 : i);
+        }
+        Collections.shuffle(posicoes, random);
+
+        grupos = new ArrayList<>(totalGrupos);
+        for (int i = 0; i < totalGrupos; i++) {
+            Grupo grupo = new Grupo();
+            grupo.setGrupoId(i + 1);
+            grupo.setTurma(turma);
+            grupo.setNumeroGrupo(i + 1);
+            grupo.setNomeGrupo("Grupo " + (i + 1));
+            grupo.setUltimaPosicao(posicoes.get(i));
+            grupo.setTotalFaltas(random.nextInt(3));
+            grupo.setTotalPrimeiroTurno(random.nextInt(10));
+            grupo.setTotalSegundoTurno(random.nextInt(10));
+            grupos.add(grupo);
+        }
+
+        aula = new AulaPratica();
+        aula.setAulaId(AULA_ID);
+        aula.setTurma(turma);
+        aula.setDataAula(LocalDate.of(2026, 3, 2));
+        aula.setNumeroAula(1);
+        for (int k = 0; k < grupos.size(); k++) {
+            Grupo grupo = grupos.get(k);
+            GrupoAula participacao = new GrupoAula();
+            participacao.setGrupoAulaId(grupo.getGrupoId());
+            participacao.setAulaPratica(aula);
+            participacao.setGrupo(grupo);
+            participacao.setTurno(CapacidadeTurma.PADRAO.turnoNaFila(k, totalGrupos));
+            participacao.setOrdemExecucao(CapacidadeTurma.PADRAO.ordemNaFila(k, totalGrupos));
+            participacao.setPresente(random.nextInt(10) != 0);
+            aula.getGruposParticipantes().add(participacao);
+        }
+    }
+
+    /**
+     * Implementação falsa de um repositório: os métodos listados devolvem o valor calculado,
+     * os demais devolvem null (ou zero/false para tipos primitivos).
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T repositorio(Class<T> tipo, Map<String, Function<Object[], Object>> respostas) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, (proxy, method, args) -> {
+            Function<Object[], Object> resposta = respostas.get(method.getName());
+            if (resposta != null) {
+                return resposta.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> tipo.getSimpleName() + " (benchmark)";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> valorPadrao(method.getReturnType());
+            };
+        });
+    }
+
+    private static Object valorPadrao(Class<?> tipo) {
+        if (tipo == boolean.class) {
+            return false;
+        }
+        if (tipo == int.class) {
+            return 0;
+        }
+        if (tipo == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    /**
+     * Caches com os limites padrão da aplicação
+     */
+    static TurmaCache turmaCache(MeterRegistry meterRegistry) {
+        return new TurmaCache(meterRegistry, 1000, 200, Duration.ofHours(1));
+    }
+
+    static RodizioTurmaCache rodizioTurmaCache(MeterRegistry meterRegistry) {
+        return new RodizioTurmaCache(meterRegistry, 1000, Duration.ofMinutes(10));
+    }
+
+    static AnosLetivosAgregado anosLetivosAgregado() {
+        return new AnosLetivosAgregado(Duration.ofHours(1));
+    }
+
+    /**
+     * Os serviços registram em INFO a cada chamada; no benchmark isso mediria o console, não o código
+     */
+    static void silenciarLogs() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+}
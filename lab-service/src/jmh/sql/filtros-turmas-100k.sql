@@ -0,0 +1,78 @@
+-- Benchmark dos filtros de turmas (GET /api/turmas?ano=&semestre=&turno=&unidade=) em 100 mil turmas sintéticas
+-- Compara a consulta antiga "(? IS NULL OR coluna = ?)" com a gerada por TurmaSpecifications (só os filtros
+-- informados), sem e com os índices de db/migration/V7__criar_indices_turmas.sql.
+-- Uso: psql -d laec -f src/jmh/sql/filtros-turmas-100k.sql   (cria e remove o schema bench; não toca em public)
+--
+-- O driver JDBC passa a usar prepared statements no servidor a partir da 5ª execução e o PostgreSQL
+-- então pode trocar para um plano genérico; plan_cache_mode = force_generic_plan reproduz esse estado.
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+
+CREATE TABLE bench.turmas (
+    turma_id SERIAL PRIMARY KEY,
+    ano INTEGER NOT NULL,
+    semestre VARCHAR(20) NOT NULL,
+    turno VARCHAR(20) NOT NULL,
+    unidade VARCHAR(20) NOT NULL,
+    dia_semana VARCHAR(20) NOT NULL,
+    nome_turma VARCHAR(255),
+    bancadas_por_turno INTEGER,
+    turnos_por_aula INTEGER,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+-- 100 anos x 1.000 turmas por ano, distribuídas entre semestre, turno, unidade e dia
+INSERT INTO bench.turmas (ano, semestre, turno, unidade, dia_semana, nome_turma, created_at, updated_at)
+SELECT 1950 + i % 100,
+       (ARRAY['primeiro', 'segundo'])[1 + i / 100 % 2],
+       (ARRAY['matutino', 'vespertino', 'noturno'])[1 + i / 200 % 3],
+       (ARRAY['bueno', 'perimetral'])[1 + i / 600 % 2],
+       (ARRAY['segunda', 'terca', 'quarta', 'quinta', 'sexta'])[1 + i / 1200 % 5],
+       'Turma ' || i, now(), now()
+FROM generate_series(1, 100000) AS i;
+ANALYZE bench.turmas;
+
+SET search_path = bench;
+SET plan_cache_mode = force_generic_plan;
+
+-- Consulta antiga: um único plano para todas as combinações
+PREPARE antiga(INTEGER, VARCHAR, VARCHAR, VARCHAR) AS
+SELECT * FROM turmas
+WHERE ($1 IS NULL OR ano = $1) AND ($2 IS NULL OR semestre = $2)
+  AND ($3 IS NULL OR turno = $3) AND ($4 IS NULL OR unidade = $4);
+
+-- Consultas de TurmaSpecifications: um SQL por combinação de filtros
+PREPARE ano(INTEGER) AS
+SELECT * FROM turmas WHERE ano = $1;
+PREPARE ano_semestre(INTEGER, VARCHAR) AS
+SELECT * FROM turmas WHERE ano = $1 AND semestre = $2;
+PREPARE completa(INTEGER, VARCHAR, VARCHAR, VARCHAR) AS
+SELECT * FROM turmas WHERE ano = $1 AND semestre = $2 AND turno = $3 AND unidade = $4;
+PREPARE unidade_turno(VARCHAR, VARCHAR) AS
+SELECT * FROM turmas WHERE unidade = $1 AND turno = $2;
+
+\echo '=== Sem índices ==='
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE antiga(2000, NULL, NULL, NULL);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE antiga(2000, 'primeiro', 'noturno', 'bueno');
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE ano(2000);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE completa(2000, 'primeiro', 'noturno', 'bueno');
+
+CREATE INDEX idx_turmas_ano_semestre_turno_unidade ON turmas (ano, semestre, turno, unidade, dia_semana);
+CREATE INDEX idx_turmas_unidade_turno ON turmas (unidade, turno);
+ANALYZE turmas;
+
+\echo '=== Com índices ==='
+-- A consulta antiga continua sem usar os índices: o plano genérico não sabe quais filtros vieram
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE antiga(2000, NULL, NULL, NULL);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE antiga(2000, 'primeiro', 'noturno', 'bueno');
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE ano(2000);
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE ano_semestre(2000, 'primeiro');
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE completa(2000, 'primeiro', 'noturno', 'bueno');
+EXPLAIN (ANALYZE, BUFFERS, SUMMARY) EXECUTE unidade_turno('bueno', 'noturno');
+
+DEALLOCATE ALL;
+RESET plan_cache_mode;
+RESET search_path;
+DROP SCHEMA bench CASCADE;
@@ -0,0 +1,33 @@
+package com.laec.lab_service.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+
+/**
+ * CacheManager JCache (Caffeine) do cache de segundo nível do Hibernate, com as regiões de hibernate-cache.conf.
+ * Criado aqui porque hibernate.javax.cache.uri converte "classpath:" em uma URL de arquivo ou de jar,
+ * e o Caffeine só lê do classpath URIs no formato "classpath:".
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    private static final URI CONFIGURACAO = URI.create("classpath:hibernate-cache.conf");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheSegundoNivelManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(CONFIGURACAO, getClass().getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer(CacheManager cacheSegundoNivelManager) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivelManager);
+    }
+}
@@ -0,0 +1,88 @@
+package com.laec.lab_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Executor padrão do Spring Boot (usado pelo MVC assíncrono).
+     * Declarado aqui porque o Boot deixa de criá-lo quando existe outro Executor no contexto.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Executor limitado para alocações em paralelo.
+     * Cada tarefa usa uma conexão do pool durante sua transação, então o paralelismo
+     * deve ficar abaixo do tamanho do pool do Hikari (10 por padrão).
+     * Com a fila cheia, a própria requisição aloca a turma (CallerRunsPolicy): ela fica mais lenta,
+     * mas nenhuma turma do dia deixa de ser alocada.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor alocacaoExecutor(@Value("${lab.alocacao.paralelismo:4}") int paralelismo) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(paralelismo);
+        executor.setMaxPoolSize(paralelismo);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("alocacao-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Executor limitado para as consultas em paralelo do dashboard de turma.
+     * Cada seção ocupa uma conexão durante sua consulta; com a fila cheia, as novas seções são recusadas
+     * e vêm indisponíveis na resposta em vez de esperar.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${lab.dashboard.paralelismo:4}") int paralelismo,
+                                                    @Value("${lab.dashboard.fila:100}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(paralelismo);
+        executor.setMaxPoolSize(paralelismo);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Envio dos eventos de aula aos inscritos via SSE (AulaEventosHub).
+     * Uma única thread mantém a ordem dos eventos; com a fila cheia, os eventos são descartados.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor eventosAulaExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("eventos-aula-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Relay do outbox (OutboxRelay): uma única thread entrega os eventos na ordem de gravação.
+     * A fila comporta um ciclo: enquanto um ciclo aguarda, novos pedidos são recusados e ignorados.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor outboxExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("outbox-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,29 @@
+package com.laec.lab_service.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Open EntityManager in View registrado manualmente (spring.jpa.open-in-view=false desliga o do Spring Boot)
+ * para excluir GET /api/aulas/{id}/stream: com o EntityManager aberto durante toda a requisição, a conexão
+ * usada para validar a aula ficaria presa ao pool até a conexão SSE fechar (até 30 minutos por inscrito).
+ * As demais rotas continuam com o comportamento padrão.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class OpenEntityManagerConfig implements WebMvcConfigurer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor)
+                .excludePathPatterns("/api/aulas/*/stream");
+    }
+}
@@ -1,15 +1,35 @@
 package com.laec.lab_service.controller;
 
+import com.laec.lab_service.dto.AlocacaoDiaResponseDTO;
 import com.laec.lab_service.dto.AulaPraticaRequestDTO;
 import com.laec.lab_service.dto.AulaPraticaResponseDTO;
+import com.laec.lab_service.dto.ListaPresencaRequestDTO;
+import com.laec.lab_service.dto.PaginaAulasDTO;
+import com.laec.lab_service.dto.TurmaResponseDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
+import com.laec.lab_service.exception.ResourceNotFoundException;
+import com.laec.lab_service.service.AlocacaoDiaService;
+import com.laec.lab_service.service.AulaEventosHub;
 import com.laec.lab_service.service.AulaPraticaService;
+import com.laec.lab_service.service.ExportacaoPresencasService;
+import com.laec.lab_service.service.FormatoExportacao;
+import com.laec.lab_service.service.TurmaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,15 +39,65 @@ import java.util.List;
 public class AulaPraticaController {
 
     private final AulaPraticaService aulaPraticaService;
+    private final AlocacaoDiaService alocacaoDiaService;
+    private final ExportacaoPresencasService exportacaoPresencasService;
+    private final TurmaService turmaService;
+    private final AulaEventosHub aulaEventosHub;
+    private final FormatoResposta formatoResposta;
 
     /**
      * GET /api/aulas/turma/{turmaId} - Lista aulas de uma turma
+     * Com If-None-Match/If-Modified-Since iguais à versão atual, responde 304 sem carregar as aulas
      */
     @GetMapping("/turma/{turmaId}")
-    public ResponseEntity<List<AulaPraticaResponseDTO>> getAulasByTurma(@PathVariable Integer turmaId) {
+    public ResponseEntity<List<AulaPraticaResponseDTO>> getAulasByTurma(@PathVariable Integer turmaId, WebRequest request) {
         log.info("GET /api/aulas/turma/{}", turmaId);
+        VersaoColecaoDTO versao = aulaPraticaService.getVersaoAulasByTurma(turmaId);
+        String etag = versao.etag("aulas-turma-" + turmaId, formatoResposta.negociar(request));
+        if (request.checkNotModified(etag, versao.ultimaAlteracaoMillis())) {
+            return null;
+        }
+
         List<AulaPraticaResponseDTO> aulas = aulaPraticaService.getAulasByTurma(turmaId);
-        return ResponseEntity.ok(aulas);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(aulas);
+    }
+
+    /**
+     * GET /api/aulas/turma/{turmaId}/historico - Histórico de aulas paginado por cursor
+     */
+    @GetMapping("/turma/{turmaId}/historico")
+    public ResponseEntity<PaginaAulasDTO> getHistoricoAulas(
+            @PathVariable Integer turmaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+        log.info("GET /api/aulas/turma/{}/historico - cursor: {}, tamanho: {}, período: {} a {}", 
+                 turmaId, cursor, tamanho, dataInicio, dataFim);
+        PaginaAulasDTO pagina = aulaPraticaService.getHistoricoAulas(turmaId, cursor, tamanho, dataInicio, dataFim);
+        return ResponseEntity.ok(pagina);
+    }
+
+    /**
+     * GET /api/aulas/turma/{turmaId}/export?format=csv|ndjson - Exporta as presenças da turma (aulas x grupos)
+     * A resposta é escrita em streaming, fora da thread da requisição, à medida que as linhas são lidas do banco
+     */
+    @GetMapping("/turma/{turmaId}/export")
+    public ResponseEntity<StreamingResponseBody> exportarPresencas(
+            @PathVariable Integer turmaId,
+            @RequestParam(defaultValue = "csv") String format) {
+        log.info("GET /api/aulas/turma/{}/export - formato: {}", turmaId, format);
+        FormatoExportacao formato = FormatoExportacao.de(format);
+        // Validada antes do streaming: depois que a resposta começa não é mais possível devolver 404
+        TurmaResponseDTO turma = turmaService.buscarTurma(turmaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + turmaId));
+
+        String arquivo = "presencas-turma-" + turma.getTurmaId() + "." + formato.getExtensao();
+        StreamingResponseBody corpo = saida -> exportacaoPresencasService.exportar(turmaId, formato, saida);
+        return ResponseEntity.ok()
+                .contentType(formato.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(arquivo).build().toString())
+                .body(corpo);
     }
 
     /**
@@ -40,6 +110,17 @@ public class AulaPraticaController {
         return ResponseEntity.ok(aula);
     }
 
+    /**
+     * GET /api/aulas/{id}/stream - Alterações da aula em tempo real (Server-Sent Events)
+     * Eventos: presenca, alocacao, concluida e removida (ver EventoAulaDTO); o estado inicial vem de GET /api/aulas/{id}
+     */
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAula(@PathVariable Integer id) {
+        log.info("GET /api/aulas/{}/stream", id);
+        aulaPraticaService.verificarAula(id);
+        return aulaEventosHub.inscrever(id);
+    }
+
     /**
      * POST /api/aulas - Cria nova aula
      */
@@ -60,6 +141,38 @@ public class AulaPraticaController {
         return ResponseEntity.ok(aula);
     }
 
+    /**
+     * POST /api/aulas/alocar-grupos/dia?data=&unidade= - Aloca grupos de todas as turmas com aula na data
+     */
+    @PostMapping("/alocar-grupos/dia")
+    public ResponseEntity<AlocacaoDiaResponseDTO> alocarGruposDoDia(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data,
+            @RequestParam(required = false) String unidade) {
+        log.info("POST /api/aulas/alocar-grupos/dia - data: {}, unidade: {}", data, unidade);
+        AlocacaoDiaResponseDTO resultado = alocacaoDiaService.alocarGruposDoDia(data, unidade);
+        return ResponseEntity.ok(resultado);
+    }
+
+    /**
+     * POST /api/aulas/turma/{turmaId}/plano - Gera plano provisório de alocação para as próximas aulas
+     */
+    @PostMapping("/turma/{turmaId}/plano")
+    public ResponseEntity<List<AulaPraticaResponseDTO>> gerarPlanoAlocacao(@PathVariable Integer turmaId) {
+        log.info("POST /api/aulas/turma/{}/plano", turmaId);
+        List<AulaPraticaResponseDTO> plano = aulaPraticaService.gerarPlanoAlocacao(turmaId);
+        return ResponseEntity.ok(plano);
+    }
+
+    /**
+     * PUT /api/aulas/{id}/plano/confirmar - Confirma a alocação provisória da aula
+     */
+    @PutMapping("/{id}/plano/confirmar")
+    public ResponseEntity<AulaPraticaResponseDTO> confirmarPlano(@PathVariable Integer id) {
+        log.info("PUT /api/aulas/{}/plano/confirmar", id);
+        AulaPraticaResponseDTO aula = aulaPraticaService.confirmarPlano(id);
+        return ResponseEntity.ok(aula);
+    }
+
     /**
      * PUT /api/aulas/{id}/concluir - Marca aula como concluída e atualiza prioridades
      */
@@ -82,6 +195,18 @@ public class AulaPraticaController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * PUT /api/aulas/{id}/presencas - Grava a lista de presença da aula inteira
+     */
+    @PutMapping("/{id}/presencas")
+    public ResponseEntity<AulaPraticaResponseDTO> marcarPresencas(
+            @PathVariable Integer id,
+            @Valid @RequestBody ListaPresencaRequestDTO request) {
+        log.info("PUT /api/aulas/{}/presencas - {} registros", id, request.getPresencas().size());
+        AulaPraticaResponseDTO aula = aulaPraticaService.marcarPresencas(id, request.getPresencas());
+        return ResponseEntity.ok(aula);
+    }
+
     /**
      * DELETE /api/aulas/{id} - Deleta aula
      */
@@ -0,0 +1,27 @@
+package com.laec.lab_service.controller;
+
+import com.laec.lab_service.dto.DashboardTurmaDTO;
+import com.laec.lab_service.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    /**
+     * GET /api/dashboard/turma/{turmaId} - Turma, anos letivos, grupos, prioridade e aulas em uma única chamada
+     */
+    @GetMapping("/turma/{turmaId}")
+    public ResponseEntity<DashboardTurmaDTO> getDashboardTurma(@PathVariable Integer turmaId) {
+        log.info("GET /api/dashboard/turma/{}", turmaId);
+        DashboardTurmaDTO dashboard = dashboardService.getDashboard(turmaId);
+        return ResponseEntity.ok(dashboard);
+    }
+}
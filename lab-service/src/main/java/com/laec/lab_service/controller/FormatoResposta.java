@@ -0,0 +1,59 @@
+package com.laec.lab_service.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Formato da resposta (JSON, CBOR ou Smile) negociado pelo Accept, para os GETs condicionais.
+ * A mesma versão dos dados gera um corpo diferente em cada formato: a ETag inclui o formato e a resposta,
+ * inclusive o 304, leva Vary: Accept, para que caches compartilhados e o navegador não sirvam
+ * um corpo Smile a um cliente JSON.
+ */
+@Component
+@RequiredArgsConstructor
+class FormatoResposta {
+
+    // Na ordem dos conversores (ConversoresBinariosConfig): JSON primeiro, para Accept genérico ou ausente
+    private static final List<MediaType> SUPORTADOS = List.of(
+            MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR,
+            new MediaType("application", "x-jackson-smile"));
+
+    private final ContentNegotiationManager contentNegotiationManager;
+
+    /**
+     * Formato que o Spring MVC vai escolher para o corpo; também adiciona Vary: Accept à resposta
+     */
+    MediaType negociar(WebRequest request) {
+        if (!(request instanceof ServletWebRequest servletRequest)) {
+            return MediaType.APPLICATION_JSON;
+        }
+        if (servletRequest.getResponse() != null) {
+            servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        List<MediaType> aceitos;
+        try {
+            aceitos = contentNegotiationManager.resolveMediaTypes(servletRequest);
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Accept inválido: a própria resposta vai falhar com 406; a ETag não importa
+            return MediaType.APPLICATION_JSON;
+        }
+        for (MediaType aceito : aceitos) {
+            for (MediaType suportado : SUPORTADOS) {
+                if (aceito.isCompatibleWith(suportado)) {
+                    return suportado;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -1,16 +1,23 @@
 package com.laec.lab_service.controller;
 
+import com.laec.lab_service.dto.EstatisticasPresencaDTO;
 import com.laec.lab_service.dto.GrupoRequestDTO;
 import com.laec.lab_service.dto.GrupoResponseDTO;
 import com.laec.lab_service.dto.PrioridadeGruposDTO;
+import com.laec.lab_service.dto.ReprocessamentoContadoresDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
 import com.laec.lab_service.service.GrupoService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,6 +27,7 @@ import java.util.List;
 public class GrupoController {
 
     private final GrupoService grupoService;
+    private final FormatoResposta formatoResposta;
 
     /**
      * GET /api/grupos - Lista todos os grupos
@@ -33,12 +41,32 @@ public class GrupoController {
 
     /**
      * GET /api/grupos/turma/{turmaId} - Lista grupos de uma turma
+     * Com If-None-Match/If-Modified-Since iguais à versão atual, responde 304 sem carregar os grupos
      */
     @GetMapping("/turma/{turmaId}")
-    public ResponseEntity<List<GrupoResponseDTO>> getGruposByTurma(@PathVariable Integer turmaId) {
+    public ResponseEntity<List<GrupoResponseDTO>> getGruposByTurma(@PathVariable Integer turmaId, WebRequest request) {
         log.info("GET /api/grupos/turma/{}", turmaId);
+        VersaoColecaoDTO versao = grupoService.getVersaoGruposByTurma(turmaId);
+        String etag = versao.etag("grupos-turma-" + turmaId, formatoResposta.negociar(request));
+        if (request.checkNotModified(etag, versao.ultimaAlteracaoMillis())) {
+            return null;
+        }
+
         List<GrupoResponseDTO> grupos = grupoService.getGruposByTurma(turmaId);
-        return ResponseEntity.ok(grupos);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(grupos);
+    }
+
+    /**
+     * GET /api/grupos/turma/{turmaId}/estatisticas?dataInicio=&dataFim= - Presenças, faltas e turnos por grupo
+     */
+    @GetMapping("/turma/{turmaId}/estatisticas")
+    public ResponseEntity<EstatisticasPresencaDTO> getEstatisticasPresenca(
+            @PathVariable Integer turmaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+        log.info("GET /api/grupos/turma/{}/estatisticas - período: {} a {}", turmaId, dataInicio, dataFim);
+        EstatisticasPresencaDTO estatisticas = grupoService.getEstatisticasPresenca(turmaId, dataInicio, dataFim);
+        return ResponseEntity.ok(estatisticas);
     }
 
     /**
@@ -61,6 +89,16 @@ public class GrupoController {
         return ResponseEntity.ok(prioridade);
     }
 
+    /**
+     * POST /api/grupos/turma/{turmaId}/contadores/reprocessar - Reconstrói os contadores a partir do log de eventos
+     */
+    @PostMapping("/turma/{turmaId}/contadores/reprocessar")
+    public ResponseEntity<ReprocessamentoContadoresDTO> reprocessarContadores(@PathVariable Integer turmaId) {
+        log.info("POST /api/grupos/turma/{}/contadores/reprocessar", turmaId);
+        ReprocessamentoContadoresDTO resultado = grupoService.reprocessarContadores(turmaId);
+        return ResponseEntity.ok(resultado);
+    }
+
     /**
      * POST /api/grupos - Cria novo grupo
      */
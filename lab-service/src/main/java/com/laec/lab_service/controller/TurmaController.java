@@ -1,15 +1,20 @@
 package com.laec.lab_service.controller;
 
+import com.laec.lab_service.dto.ResumoAnosLetivosDTO;
 import com.laec.lab_service.dto.TurmaRequestDTO;
 import com.laec.lab_service.dto.TurmaResponseDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
 import com.laec.lab_service.service.TurmaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Year;
 import java.util.List;
 
 @RestController
@@ -19,39 +24,53 @@ import java.util.List;
 public class TurmaController {
 
     private final TurmaService turmaService;
+    private final FormatoResposta formatoResposta;
 
     /**
      * GET /api/turmas - Lista todas as turmas ou com filtros
+     * As listas vêm do cache de turmas; com If-None-Match/If-Modified-Since iguais, responde 304 sem serializá-las
      */
     @GetMapping
     public ResponseEntity<List<TurmaResponseDTO>> getTurmas(
             @RequestParam(required = false) Integer ano,
             @RequestParam(required = false) String semestre,
             @RequestParam(required = false) String turno,
-            @RequestParam(required = false) String unidade
+            @RequestParam(required = false) String unidade,
+            WebRequest request
     ) {
         log.info("GET /api/turmas - Params: ano={}, semestre={}, turno={}, unidade={}", 
                  ano, semestre, turno, unidade);
 
-        // Se tiver algum filtro, usar busca com filtros
-        if (ano != null || semestre != null || turno != null || unidade != null) {
-            List<TurmaResponseDTO> turmas = turmaService.getTurmasComFiltros(ano, semestre, turno, unidade);
-            return ResponseEntity.ok(turmas);
-        }
+        // Se tiver algum filtro, usar busca com filtros; caso contrário, retornar todas
+        List<TurmaResponseDTO> turmas = ano != null || semestre != null || turno != null || unidade != null
+                ? turmaService.getTurmasComFiltros(ano, semestre, turno, unidade)
+                : turmaService.getAllTurmas();
 
-        // Caso contrário, retornar todas
-        List<TurmaResponseDTO> turmas = turmaService.getAllTurmas();
-        return ResponseEntity.ok(turmas);
+        // O ano corrente entra na ETag porque define o campo anoLetivo.ativo
+        VersaoColecaoDTO versao = VersaoColecaoDTO.de(turmas, TurmaResponseDTO::getTurmaId,
+                TurmaResponseDTO::getVersao, TurmaResponseDTO::getUpdatedAt);
+        String etag = versao.etag("turmas-" + Year.now().getValue(), formatoResposta.negociar(request));
+        if (request.checkNotModified(etag, versao.ultimaAlteracaoMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(turmas);
     }
 
     /**
      * GET /api/turmas/{id} - Busca turma por ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<TurmaResponseDTO> getTurmaById(@PathVariable Integer id) {
+    public ResponseEntity<TurmaResponseDTO> getTurmaById(@PathVariable Integer id, WebRequest request) {
         log.info("GET /api/turmas/{}", id);
         TurmaResponseDTO turma = turmaService.getTurmaById(id);
-        return ResponseEntity.ok(turma);
+
+        VersaoColecaoDTO versao = VersaoColecaoDTO.de(List.of(turma), TurmaResponseDTO::getTurmaId,
+                TurmaResponseDTO::getVersao, TurmaResponseDTO::getUpdatedAt);
+        String etag = versao.etag("turma-" + Year.now().getValue(), formatoResposta.negociar(request));
+        if (request.checkNotModified(etag, versao.ultimaAlteracaoMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(turma);
     }
 
     /**
@@ -64,6 +83,16 @@ public class TurmaController {
         return ResponseEntity.ok(anos);
     }
 
+    /**
+     * GET /api/turmas/anos/resumo - Anos letivos com contagem de turmas por semestre, turno e unidade
+     */
+    @GetMapping("/anos/resumo")
+    public ResponseEntity<ResumoAnosLetivosDTO> getResumoAnosLetivos() {
+        log.info("GET /api/turmas/anos/resumo");
+        ResumoAnosLetivosDTO resumo = turmaService.getResumoAnosLetivos();
+        return ResponseEntity.ok(resumo);
+    }
+
     /**
      * GET /api/turmas/anos/{ano}/count - Conta turmas de um ano
      */
@@ -0,0 +1,38 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Resultado da alocação de grupos de todas as turmas com aula em uma data
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlocacaoDiaResponseDTO {
+    private LocalDate data;
+    private String unidade;
+    private Integer totalAulas;
+    private Long duracaoTotalMs;
+    private List<ResultadoTurmaDTO> resultados;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ResultadoTurmaDTO {
+        private Integer turmaId;
+        private String nomeTurma;
+        private Integer aulaId;
+        private String status; // ALOCADA, JA_ALOCADA ou ERRO
+        private Integer gruposAlocados;
+        private Long duracaoMs;
+        private String mensagem;
+    }
+}
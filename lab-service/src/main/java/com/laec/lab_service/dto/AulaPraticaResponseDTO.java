@@ -24,6 +24,7 @@ public class AulaPraticaResponseDTO {
     private List<GrupoAulaDTO> gruposParticipantes;
     private Integer totalGruposPrimeiroTurno;
     private Integer totalGruposSegundoTurno;
+    private List<Integer> totalGruposPorTurno; // índice 0 = 1º turno
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
@@ -42,5 +43,6 @@ public class AulaPraticaResponseDTO {
         private LocalDateTime horarioInicio;
         private LocalDateTime horarioFim;
         private String observacoes;
+        private Boolean provisorio;
     }
 }
@@ -0,0 +1,37 @@
+package com.laec.lab_service.dto;
+
+import com.laec.lab_service.entity.Grupo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de rodízio de um grupo (posição e contadores), separado da entidade
+ * para que as regras possam ser aplicadas em memória e gravadas em lote.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContadoresRodizio {
+    private Integer grupoId;
+    private Integer ultimaPosicao;
+    private int totalFaltas;
+    private int totalPrimeiroTurno;
+    private int totalSegundoTurno;
+
+    public static ContadoresRodizio de(Grupo grupo) {
+        return new ContadoresRodizio(
+                grupo.getGrupoId(),
+                grupo.getUltimaPosicao(),
+                grupo.getTotalFaltas(),
+                grupo.getTotalPrimeiroTurno(),
+                grupo.getTotalSegundoTurno());
+    }
+
+    public void copiarPara(Grupo grupo) {
+        grupo.setUltimaPosicao(ultimaPosicao);
+        grupo.setTotalFaltas(totalFaltas);
+        grupo.setTotalPrimeiroTurno(totalPrimeiroTurno);
+        grupo.setTotalSegundoTurno(totalSegundoTurno);
+    }
+}
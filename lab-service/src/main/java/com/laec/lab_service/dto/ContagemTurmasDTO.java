@@ -0,0 +1,20 @@
+package com.laec.lab_service.dto;
+
+import com.laec.lab_service.entity.Turma;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Quantidade de turmas por combinação de ano, semestre, turno e unidade (projeção de um GROUP BY)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContagemTurmasDTO {
+    private Integer ano;
+    private Turma.Semestre semestre;
+    private Turma.Turno turno;
+    private Turma.Unidade unidade;
+    private Long total;
+}
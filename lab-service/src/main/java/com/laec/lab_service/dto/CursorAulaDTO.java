@@ -0,0 +1,46 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Posição de uma aula no histórico da turma (keyset em data_aula DESC, aula_id DESC).
+ * Também é a linha devolvida pela consulta de IDs de uma página, de modo que o próximo cursor
+ * sai da própria página, sem depender da consulta das aulas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorAulaDTO {
+    private LocalDate dataAula;
+    private Integer aulaId;
+
+    /**
+     * Cursor opaco para o cliente: "data|id" em Base64 URL-safe
+     */
+    public String codificar() {
+        String valor = dataAula + "|" + aulaId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê um cursor gerado por codificar(); cursores malformados viram IllegalArgumentException (400)
+     */
+    public static CursorAulaDTO decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = valor.split("\\|", -1);
+            if (partes.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            return new CursorAulaDTO(LocalDate.parse(partes[0]), Integer.parseInt(partes[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dados da tela de gerenciamento de uma turma em uma única resposta.
+ * Seções que falharam ou passaram do tempo limite vêm nulas e aparecem em secoesIndisponiveis.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardTurmaDTO {
+    private TurmaResponseDTO turma;
+    private List<Integer> anosLetivos;
+    private List<GrupoResponseDTO> grupos;
+    private PrioridadeGruposDTO prioridade;
+    private PaginaAulasDTO aulas; // primeira página do histórico; as seguintes vêm de /api/aulas/turma/{id}/historico
+    private Map<String, String> secoesIndisponiveis; // seção -> motivo
+    private Long duracaoMs;
+}
@@ -0,0 +1,43 @@
+package com.laec.lab_service.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Presenças, faltas e turnos de um grupo no período (projeção de um GROUP BY sobre grupos_aulas).
+ * Turnos contam só as presenças; do 2º turno em diante contam como segundo turno, como nos contadores do rodízio.
+ */
+@Data
+@NoArgsConstructor
+public class EstatisticaGrupoDTO {
+    private Integer grupoId;
+    private Integer numeroGrupo;
+    private String nomeGrupo;
+    private Boolean ativo;
+    private Long presencas;
+    private Long faltas;
+    private Long primeiroTurno;
+    private Long segundoTurno;
+    private Double taxaPresenca; // % de presenças entre as aulas registradas (null sem aulas no período)
+
+    public EstatisticaGrupoDTO(Integer grupoId, Integer numeroGrupo, String nomeGrupo, Boolean ativo,
+                               Long presencas, Long faltas, Long primeiroTurno, Long segundoTurno) {
+        this.grupoId = grupoId;
+        this.numeroGrupo = numeroGrupo;
+        this.nomeGrupo = nomeGrupo;
+        this.ativo = ativo;
+        this.presencas = presencas;
+        this.faltas = faltas;
+        this.primeiroTurno = primeiroTurno;
+        this.segundoTurno = segundoTurno;
+        this.taxaPresenca = taxa(presencas, faltas);
+    }
+
+    /**
+     * Percentual de presenças com uma casa decimal
+     */
+    public static Double taxa(long presencas, long faltas) {
+        long total = presencas + faltas;
+        return total > 0 ? Math.round(presencas * 1000.0 / total) / 10.0 : null;
+    }
+}
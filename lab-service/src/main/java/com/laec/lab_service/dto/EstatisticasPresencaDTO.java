@@ -0,0 +1,26 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Estatísticas de presença dos grupos de uma turma, no período informado (ou em todas as aulas)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EstatisticasPresencaDTO {
+    private Integer turmaId;
+    private LocalDate dataInicio; // null quando o período não foi informado
+    private LocalDate dataFim;
+    private Long totalPresencas;
+    private Long totalFaltas;
+    private Double taxaPresenca;
+    private List<EstatisticaGrupoDTO> grupos;
+}
@@ -0,0 +1,30 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Alteração de uma aula, gravada no outbox (EventoOutbox) e enviada aos inscritos em GET /api/aulas/{id}/stream.
+ * Só as participações afetadas e só os campos alterados são enviados (campos nulos são omitidos).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoAulaDTO {
+    private Tipo tipo;
+    private Integer aulaId;
+    private List<AulaPraticaResponseDTO.GrupoAulaDTO> participacoes;
+
+    public enum Tipo {
+        criada,     // aula criada, com as participações alocadas na criação
+        presenca,   // participações com a presença alterada (grupoAulaId, grupoId, presente)
+        alocacao,   // alocação completa da aula: substitui as participações anteriores
+        concluida,  // aula concluída e prioridades dos grupos atualizadas
+        removida    // aula removida; o stream é encerrado em seguida
+    }
+}
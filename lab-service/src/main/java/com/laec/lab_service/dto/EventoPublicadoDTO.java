@@ -0,0 +1,26 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento do outbox entregue pelo OutboxRelay: publicado como evento da aplicação (@EventListener)
+ * e enviado aos destinos externos (DestinoEventos).
+ * A entrega é "pelo menos uma vez" e sem garantia de ordem: em caso de falha o mesmo eventoId pode ser
+ * entregue de novo, depois de eventos mais novos; após o máximo de tentativas o evento é descartado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoPublicadoDTO {
+    private Long eventoId;
+    private EventoAulaDTO.Tipo tipo;
+    private Integer aulaId;
+    private String payload; // EventoAulaDTO em JSON
+    private LocalDateTime ocorridoEm;
+}
@@ -0,0 +1,25 @@
+package com.laec.lab_service.dto;
+
+import com.laec.lab_service.entity.EventoGrupo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Projeção de EventoGrupo usada no replay dos contadores (não fica no contexto de persistência)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoRodizioDTO {
+    private Integer grupoId;
+    private EventoGrupo.Tipo tipo;
+    private Integer turno;
+    private Boolean presente;
+    private Boolean presencaAnterior;
+    private Integer totalGrupos;
+    private Integer ultimaPosicao;
+    private Integer totalFaltas;
+    private Integer totalPrimeiroTurno;
+    private Integer totalSegundoTurno;
+}
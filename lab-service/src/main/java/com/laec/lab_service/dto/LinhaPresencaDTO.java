@@ -0,0 +1,28 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Linha da exportação de presenças: uma participação de grupo em uma aula.
+ * Aulas sem grupos alocados aparecem em uma linha com os campos do grupo nulos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LinhaPresencaDTO {
+    private Integer aulaId;
+    private LocalDate dataAula;
+    private Integer numeroAula;
+    private String tema;
+    private Integer grupoId;
+    private Integer numeroGrupo;
+    private String nomeGrupo;
+    private Integer turno;
+    private Integer ordemExecucao;
+    private Boolean presente;
+    private Boolean provisorio;
+}
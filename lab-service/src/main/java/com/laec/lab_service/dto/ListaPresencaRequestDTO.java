@@ -0,0 +1,35 @@
+package com.laec.lab_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Lista de presença de uma aula inteira, enviada de uma só vez
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListaPresencaRequestDTO {
+
+    @NotEmpty(message = "Lista de presença é obrigatória")
+    @Valid
+    private List<PresencaDTO> presencas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PresencaDTO {
+
+        @NotNull(message = "Registro do grupo na aula é obrigatório")
+        private Integer grupoAulaId;
+
+        @NotNull(message = "Presença é obrigatória")
+        private Boolean presente;
+    }
+}
@@ -0,0 +1,22 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do histórico de aulas de uma turma (paginação por cursor em data_aula, aula_id)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaginaAulasDTO {
+    private List<AulaPraticaResponseDTO> aulas;
+    private Integer tamanho;
+    private Boolean temMais;
+    private String proximoCursor; // null quando não há mais páginas
+}
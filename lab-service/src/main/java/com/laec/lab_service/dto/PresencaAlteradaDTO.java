@@ -0,0 +1,19 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Participação cuja presença foi efetivamente alterada por um UPDATE condicional em grupos_aulas
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresencaAlteradaDTO {
+    private Integer grupoAulaId;
+    private Integer grupoId;
+    private Integer aulaId;
+    private Integer turno;
+    private Boolean presente;
+}
@@ -0,0 +1,20 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado da reconstrução dos contadores de uma turma a partir do log de eventos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReprocessamentoContadoresDTO {
+    private Integer turmaId;
+    private Long eventosProcessados;
+    private Integer gruposAtualizados;
+    private Integer gruposCorrigidos; // Grupos cujos contadores estavam divergentes dos eventos
+}
@@ -0,0 +1,62 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Resumo dos anos letivos para a barra de filtros: anos disponíveis (mais recente primeiro)
+ * e quantidade de turmas de cada ano por semestre, turno e unidade
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ResumoAnosLetivosDTO {
+    private Integer anoAtual;
+    private Long totalTurmas;
+    private List<AnoLetivoResumoDTO> anos;
+
+    /**
+     * Cópia independente, inclusive dos anos e dos mapas: o resumo em cache (AnosLetivosAgregado)
+     * não é alterado por quem recebe a cópia
+     */
+    public ResumoAnosLetivosDTO copia() {
+        return toBuilder()
+                .anos(anos != null ? anos.stream().map(AnoLetivoResumoDTO::copia).collect(Collectors.toList()) : null)
+                .build();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder(toBuilder = true)
+    public static class AnoLetivoResumoDTO {
+        private Integer ano;
+        private String descricao;
+        private Boolean ativo;
+        private Long totalTurmas;
+        private Map<String, Long> porSemestre;
+        private Map<String, Long> porTurno;
+        private Map<String, Long> porUnidade;
+
+        public AnoLetivoResumoDTO copia() {
+            return toBuilder()
+                    .porSemestre(copiar(porSemestre))
+                    .porTurno(copiar(porTurno))
+                    .porUnidade(copiar(porUnidade))
+                    .build();
+        }
+
+        // LinkedHashMap mantém a ordem dos enums
+        private static Map<String, Long> copiar(Map<String, Long> mapa) {
+            return mapa != null ? new LinkedHashMap<>(mapa) : null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Estado de rodízio de um grupo devolvido pelo UPDATE atômico, junto com a turma
+ * e o total de grupos ativos usados no cálculo da nova posição
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RodizioAplicadoDTO {
+    private Integer turmaId;
+    private Integer totalGrupos;
+    private ContadoresRodizio contadores;
+}
@@ -1,6 +1,7 @@
 package com.laec.lab_service.dto;
 
 import com.laec.lab_service.entity.Turma;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -27,4 +28,12 @@ public class TurmaRequestDTO {
     private Turma.DiaSemana diaSemana;
 
     private String nomeTurma;
+
+    // Capacidade da aula (opcional): sem valor, usa 2 turnos de 8 bancadas preenchidos em sequência (layout anterior);
+    // com valor, os grupos são divididos de forma equilibrada entre os turnos
+    @Min(value = 1, message = "Bancadas por turno deve ser no mínimo 1")
+    private Integer bancadasPorTurno;
+
+    @Min(value = 1, message = "Turnos por aula deve ser no mínimo 1")
+    private Integer turnosPorAula;
 }
@@ -1,5 +1,6 @@
 package com.laec.lab_service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.laec.lab_service.entity.Turma;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,7 +13,7 @@ import java.time.Year;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class TurmaResponseDTO {
 
     private Integer turmaId;
@@ -22,14 +23,18 @@ public class TurmaResponseDTO {
     private String unidade;
     private String diaSemana;
     private String nomeTurma;
+    private Integer bancadasPorTurno;
+    private Integer turnosPorAula;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    @JsonIgnore
+    private Long versao; // só para a ETag (VersaoColecaoDTO); não vai no corpo
     private AnoLetivoDTO anoLetivo;
 
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
-    @Builder
+    @Builder(toBuilder = true)
     public static class AnoLetivoDTO {
         private Integer anoLetivoId;
         private Integer ano;
@@ -37,9 +42,24 @@ public class TurmaResponseDTO {
         private Boolean ativo;
     }
 
+    /**
+     * Cópia independente, inclusive do ano letivo: a turma em cache (TurmaCache) não é alterada por quem recebe a cópia
+     */
+    public TurmaResponseDTO copia() {
+        return toBuilder()
+                .anoLetivo(anoLetivo != null ? anoLetivo.toBuilder().build() : null)
+                .build();
+    }
+
     public static TurmaResponseDTO fromEntity(Turma turma) {
+        return fromEntity(turma, Year.now().getValue());
+    }
+
+    /**
+     * Conversão com o ano corrente já calculado, para listas (evita ler o relógio a cada linha)
+     */
+    public static TurmaResponseDTO fromEntity(Turma turma, int anoAtual) {
         // Criar AnoLetivoDTO baseado no campo ano da turma
-        int anoAtual = Year.now().getValue();
         AnoLetivoDTO anoLetivoDTO = AnoLetivoDTO.builder()
                 .anoLetivoId(turma.getAno()) // Usar o próprio ano como ID
                 .ano(turma.getAno())
@@ -55,8 +75,11 @@ public class TurmaResponseDTO {
                 .unidade(turma.getUnidade().name())
                 .diaSemana(turma.getDiaSemana().name())
                 .nomeTurma(turma.getNomeTurma())
+                .bancadasPorTurno(turma.getBancadasPorTurno())
+                .turnosPorAula(turma.getTurnosPorAula())
                 .createdAt(turma.getCreatedAt())
                 .updatedAt(turma.getUpdatedAt())
+                .versao(turma.getVersao())
                 .anoLetivo(anoLetivoDTO)
                 .build();
     }
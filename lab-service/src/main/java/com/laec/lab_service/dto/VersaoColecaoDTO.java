@@ -0,0 +1,100 @@
+package com.laec.lab_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Versão de uma coleção para GET condicional (ETag / Last-Modified): quantidade de linhas, última alteração
+ * e uma assinatura da quantidade, da soma dos IDs e da soma das versões das linhas (coluna versao, V11).
+ * Criar ou remover linhas muda a quantidade ou a soma dos IDs (um ID novo é maior que todos os existentes)
+ * e alterar uma linha incrementa a versão dela. As somas não dependem da ordem dos commits: duas escritas
+ * no mesmo instante, ou com updated_at fora da ordem de commit, sempre geram uma ETag diferente.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersaoColecaoDTO {
+    private Long total;
+    private LocalDateTime ultimaAlteracao; // null em coleção vazia; só para Last-Modified
+    private long assinatura;
+
+    /**
+     * Versão agregada no banco (consultas findVersaoByTurma); as somas vêm null em coleção vazia
+     */
+    public VersaoColecaoDTO(Long total, LocalDateTime ultimaAlteracao, Long somaIds, Long somaVersoes) {
+        this(total, ultimaAlteracao, assinatura(total, valor(somaIds), valor(somaVersoes)));
+    }
+
+    /**
+     * Versão de itens já carregados (ex.: listas do cache de turmas)
+     */
+    public static <T> VersaoColecaoDTO de(Collection<T> itens, Function<T, Integer> id, Function<T, Long> versao,
+                                          Function<T, LocalDateTime> updatedAt) {
+        LocalDateTime ultima = null;
+        long somaIds = 0;
+        long somaVersoes = 0;
+        for (T item : itens) {
+            ultima = maisRecente(ultima, updatedAt.apply(item));
+            somaIds += id.apply(item);
+            somaVersoes += valor(versao.apply(item));
+        }
+        return new VersaoColecaoDTO((long) itens.size(), ultima, somaIds, somaVersoes);
+    }
+
+    /**
+     * Versão de uma resposta que combina várias coleções (ex.: aulas com seus grupos).
+     * As assinaturas são misturadas, não somadas: a alteração de uma coleção não compensa a de outra.
+     */
+    public VersaoColecaoDTO com(VersaoColecaoDTO outra) {
+        return new VersaoColecaoDTO(total + outra.total, maisRecente(ultimaAlteracao, outra.ultimaAlteracao),
+                misturar(assinatura, outra.assinatura));
+    }
+
+    /**
+     * ETag forte: muda sempre que uma linha é criada, alterada ou removida.
+     * Inclui o formato do corpo (JSON, CBOR ou Smile), pois cada um tem bytes diferentes para a mesma versão.
+     */
+    public String etag(String recurso, MediaType formato) {
+        return "\"" + recurso + "-" + formato.getSubtype() + "-" + total + "-"
+                + Long.toUnsignedString(assinatura, 36) + "\"";
+    }
+
+    /**
+     * Last-Modified em milissegundos (-1 em coleção vazia, o que desativa a verificação por data)
+     */
+    public long ultimaAlteracaoMillis() {
+        return ultimaAlteracao != null ? ultimaAlteracao.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : -1;
+    }
+
+    private static long assinatura(long total, long somaIds, long somaVersoes) {
+        return misturar(misturar(total, somaIds), somaVersoes);
+    }
+
+    /**
+     * Mistura de 64 bits (finalizador do SplitMix64): para um mesmo h, valores diferentes de v dão resultados diferentes
+     */
+    private static long misturar(long h, long v) {
+        long z = h * 0x9E3779B97F4A7C15L + v;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static long valor(Long soma) {
+        return soma != null ? soma : 0;
+    }
+
+    private static LocalDateTime maisRecente(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+}
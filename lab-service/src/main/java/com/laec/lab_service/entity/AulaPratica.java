@@ -47,6 +47,7 @@ public class AulaPratica {
     private String observacoes;
 
     @OneToMany(mappedBy = "aulaPratica", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("turno ASC, ordemExecucao ASC")
     private List<GrupoAula> gruposParticipantes = new ArrayList<>();
 
     @CreationTimestamp
@@ -56,4 +57,8 @@ public class AulaPratica {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Incrementada pelo banco (trigger) a cada UPDATE; só é lida, para a versão das coleções (GET condicional)
+    @Column(name = "versao", insertable = false, updatable = false)
+    private Long versao;
 }
@@ -0,0 +1,78 @@
+package com.laec.lab_service.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento imutável do rodízio de um grupo (tabela append-only).
+ * Os contadores de Grupo são uma projeção destes eventos e podem ser reconstruídos a partir deles.
+ */
+@Entity
+@Table(name = "eventos_grupos")
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoGrupo {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "evento_id")
+    private Long eventoId;
+
+    @NotNull
+    @Column(name = "turma_id", nullable = false)
+    private Integer turmaId;
+
+    @NotNull
+    @Column(name = "grupo_id", nullable = false)
+    private Integer grupoId;
+
+    @Column(name = "aula_id")
+    private Integer aulaId;
+
+    @NotNull
+    @Column(name = "tipo", nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    private Tipo tipo;
+
+    @Column(name = "turno")
+    private Integer turno;
+
+    @Column(name = "presente")
+    private Boolean presente;
+
+    @Column(name = "presenca_anterior")
+    private Boolean presencaAnterior;
+
+    @Column(name = "total_grupos")
+    private Integer totalGrupos; // Grupos ativos da turma no momento do evento
+
+    // Preenchidos apenas em SALDO_INICIAL
+    @Column(name = "ultima_posicao")
+    private Integer ultimaPosicao;
+
+    @Column(name = "total_faltas")
+    private Integer totalFaltas;
+
+    @Column(name = "total_primeiro_turno")
+    private Integer totalPrimeiroTurno;
+
+    @Column(name = "total_segundo_turno")
+    private Integer totalSegundoTurno;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public enum Tipo {
+        SALDO_INICIAL, PRESENCA_ALTERADA, AULA_CONCLUIDA
+    }
+}
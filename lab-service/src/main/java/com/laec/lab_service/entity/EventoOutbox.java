@@ -0,0 +1,59 @@
+package com.laec.lab_service.entity;
+
+import com.laec.lab_service.dto.EventoAulaDTO;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento de aula a publicar (outbox transacional).
+ * Gravado na mesma transação da alteração; publicadoEm é preenchido pelo OutboxRelay depois da entrega.
+ * Um evento recusado volta à fila em proximaTentativaEm; após o máximo de tentativas recebe descartadoEm.
+ */
+@Entity
+@Table(name = "eventos_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "evento_id")
+    private Long eventoId;
+
+    @NotNull
+    @Column(name = "tipo", nullable = false, length = 30)
+    @Enumerated(EnumType.STRING)
+    private EventoAulaDTO.Tipo tipo;
+
+    @NotNull
+    @Column(name = "aula_id", nullable = false)
+    private Integer aulaId;
+
+    @NotNull
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload; // EventoAulaDTO em JSON, sem campos nulos
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "publicado_em")
+    private LocalDateTime publicadoEm;
+
+    @Column(name = "tentativas", nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+
+    @Column(name = "proxima_tentativa_em")
+    private LocalDateTime proximaTentativaEm;
+
+    @Column(name = "descartado_em")
+    private LocalDateTime descartadoEm;
+}
@@ -5,13 +5,20 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Cache de segundo nível READ_WRITE (região grupos). Os contadores de rodízio são gravados via JDBC
+ * (GrupoBatchRepositoryImpl), que remove do cache os grupos alterados.
+ */
 @Entity
 @Table(name = "grupos")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "grupos")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -59,4 +66,8 @@ public class Grupo {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Incrementada pelo banco (trigger) a cada UPDATE; só é lida, para a versão das coleções (GET condicional)
+    @Column(name = "versao", insertable = false, updatable = false)
+    private Long versao;
 }
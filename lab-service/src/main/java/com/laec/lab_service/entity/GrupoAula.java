@@ -52,6 +52,9 @@ public class GrupoAula {
     @Column(name = "observacoes", columnDefinition = "TEXT")
     private String observacoes;
 
+    @Column(name = "provisorio")
+    private Boolean provisorio = false; // true = gerado pelo plano do semestre, ainda não confirmado
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -59,4 +62,8 @@ public class GrupoAula {
     @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
+
+    // Incrementada pelo banco (trigger) a cada UPDATE; só é lida, para a versão das coleções (GET condicional)
+    @Column(name = "versao", insertable = false, updatable = false)
+    private Long versao;
 }
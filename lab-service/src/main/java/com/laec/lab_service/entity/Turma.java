@@ -5,13 +5,20 @@ import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
+/**
+ * Dado de referência, lido em quase todas as operações e alterado raramente: fica no cache de segundo nível
+ * (região turmas). NONSTRICT_READ_WRITE invalida a entrada após o commit, sem lock no cache.
+ */
 @Entity
 @Table(name = "turmas")
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "turmas")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -49,6 +56,12 @@ public class Turma {
     @Column(name = "nome_turma", length = 255)
     private String nomeTurma;
 
+    @Column(name = "bancadas_por_turno")
+    private Integer bancadasPorTurno; // null = padrão de 8 bancadas
+
+    @Column(name = "turnos_por_aula")
+    private Integer turnosPorAula; // null = padrão de 2 turnos
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -57,6 +70,10 @@ public class Turma {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Incrementada pelo banco (trigger) a cada UPDATE; só é lida, para a versão das coleções (GET condicional)
+    @Column(name = "versao", insertable = false, updatable = false)
+    private Long versao;
+
     // Enums
 
     public enum Semestre {
@@ -1,23 +1,80 @@
 package com.laec.lab_service.repository;
 
+import com.laec.lab_service.dto.LinhaPresencaDTO;
+import com.laec.lab_service.dto.CursorAulaDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
 import com.laec.lab_service.entity.AulaPratica;
+import com.laec.lab_service.entity.Turma;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface AulaPraticaRepository extends JpaRepository<AulaPratica, Integer> {
 
     /**
      * Buscar aulas de uma turma ordenadas por data (mais recente primeiro)
+     * Participações e grupos vêm na mesma consulta
      */
+    @EntityGraph(attributePaths = {"gruposParticipantes", "gruposParticipantes.grupo"})
     List<AulaPratica> findByTurma_TurmaIdOrderByDataAulaDesc(Integer turmaId);
 
+    /**
+     * Versão das aulas da turma (quantidade, último updated_at, somas dos IDs e das versões) para GET condicional.
+     * As participações têm a própria versão (GrupoAulaRepository): somar os IDs das aulas sobre o JOIN
+     * contaria cada aula uma vez por participação.
+     */
+    @Query("SELECT new com.laec.lab_service.dto.VersaoColecaoDTO(COUNT(a), MAX(a.updatedAt), " +
+           "SUM(a.aulaId), SUM(a.versao)) " +
+           "FROM AulaPratica a WHERE a.turma.turmaId = :turmaId")
+    VersaoColecaoDTO findVersaoByTurma(@Param("turmaId") Integer turmaId);
+
+    /**
+     * Buscar aula por ID já com participações e grupos carregados
+     */
+    @EntityGraph(attributePaths = {"gruposParticipantes", "gruposParticipantes.grupo"})
+    Optional<AulaPratica> findComParticipantesByAulaId(Integer aulaId);
+
+    /**
+     * Buscar posições (data e ID) de uma página do histórico da turma (keyset em data_aula DESC, aula_id DESC)
+     * Retorna as aulas estritamente depois do cursor, dentro do período informado.
+     * O "dataAula <= :cursorData" é redundante, mas vira limite do índice: sem ele o único limite é o BETWEEN
+     * e o PostgreSQL percorre desde dataFim todas as aulas mais recentes que o cursor a cada página.
+     */
+    @Query("SELECT new com.laec.lab_service.dto.CursorAulaDTO(a.dataAula, a.aulaId) " +
+           "FROM AulaPratica a WHERE a.turma.turmaId = :turmaId " +
+           "AND a.dataAula BETWEEN :dataInicio AND :dataFim " +
+           "AND a.dataAula <= :cursorData " +
+           "AND (a.dataAula < :cursorData OR (a.dataAula = :cursorData AND a.aulaId < :cursorId)) " +
+           "ORDER BY a.dataAula DESC, a.aulaId DESC")
+    List<CursorAulaDTO> findPaginaByTurma(
+            @Param("turmaId") Integer turmaId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim,
+            @Param("cursorData") LocalDate cursorData,
+            @Param("cursorId") Integer cursorId,
+            Limit limit
+    );
+
+    /**
+     * Buscar aulas por IDs com participações e grupos, na ordem do histórico
+     */
+    @EntityGraph(attributePaths = {"gruposParticipantes", "gruposParticipantes.grupo"})
+    List<AulaPratica> findByAulaIdInOrderByDataAulaDescAulaIdDesc(Collection<Integer> aulasIds);
+
     /**
      * Buscar aulas de uma turma por período
      */
@@ -49,4 +106,32 @@ public interface AulaPraticaRepository extends JpaRepository<AulaPratica, Intege
            "AND a.dataAula >= CURRENT_DATE " +
            "ORDER BY a.dataAula ASC")
     List<AulaPratica> findProximasAulasPlanejadas(@Param("turmaId") Integer turmaId);
+
+    /**
+     * Buscar todas as aulas de uma data (com a turma carregada)
+     */
+    @Query("SELECT a FROM AulaPratica a JOIN FETCH a.turma WHERE a.dataAula = :dataAula")
+    List<AulaPratica> findByDataAula(@Param("dataAula") LocalDate dataAula);
+
+    /**
+     * Buscar todas as aulas de uma data em uma unidade (com a turma carregada)
+     */
+    @Query("SELECT a FROM AulaPratica a JOIN FETCH a.turma t WHERE a.dataAula = :dataAula AND t.unidade = :unidade")
+    List<AulaPratica> findByDataAulaAndUnidade(
+            @Param("dataAula") LocalDate dataAula,
+            @Param("unidade") Turma.Unidade unidade
+    );
+
+    /**
+     * Percorrer as presenças de todas as aulas da turma (aulas x grupos) em ordem cronológica (cursor, sem carregar tudo em memória)
+     * Aulas sem grupos alocados vêm em uma linha com os campos do grupo nulos
+     * Deve ser consumido dentro de uma transação
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.laec.lab_service.dto.LinhaPresencaDTO(a.aulaId, a.dataAula, a.numeroAula, a.tema, " +
+           "g.grupoId, g.numeroGrupo, g.nomeGrupo, ga.turno, ga.ordemExecucao, ga.presente, ga.provisorio) " +
+           "FROM AulaPratica a LEFT JOIN a.gruposParticipantes ga LEFT JOIN ga.grupo g " +
+           "WHERE a.turma.turmaId = :turmaId " +
+           "ORDER BY a.dataAula ASC, a.aulaId ASC, ga.turno ASC, ga.ordemExecucao ASC")
+    Stream<LinhaPresencaDTO> streamPresencasByTurma(@Param("turmaId") Integer turmaId);
 }
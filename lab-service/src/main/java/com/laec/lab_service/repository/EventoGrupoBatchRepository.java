@@ -0,0 +1,16 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.entity.EventoGrupo;
+
+import java.util.List;
+
+/**
+ * Inserção em lote no log de eventos, fora do ciclo de vida do JPA
+ */
+public interface EventoGrupoBatchRepository {
+
+    /**
+     * Insere todos os eventos em um único batch JDBC
+     */
+    void registrarEmLote(List<EventoGrupo> eventos);
+}
@@ -0,0 +1,40 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.entity.EventoGrupo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EventoGrupoBatchRepositoryImpl implements EventoGrupoBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO eventos_grupos (turma_id, grupo_id, aula_id, tipo, turno, presente, presenca_anterior, " +
+            "total_grupos, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void registrarEmLote(List<EventoGrupo> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, eventos, eventos.size(), (ps, e) -> {
+            ps.setInt(1, e.getTurmaId());
+            ps.setInt(2, e.getGrupoId());
+            ps.setObject(3, e.getAulaId(), Types.INTEGER);
+            ps.setString(4, e.getTipo().name());
+            ps.setObject(5, e.getTurno(), Types.INTEGER);
+            ps.setObject(6, e.getPresente(), Types.BOOLEAN);
+            ps.setObject(7, e.getPresencaAnterior(), Types.BOOLEAN);
+            ps.setObject(8, e.getTotalGrupos(), Types.INTEGER);
+            ps.setTimestamp(9, agora);
+        });
+    }
+}
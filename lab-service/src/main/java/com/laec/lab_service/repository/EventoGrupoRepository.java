@@ -0,0 +1,30 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.dto.EventoRodizioDTO;
+import com.laec.lab_service.entity.EventoGrupo;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+@Repository
+public interface EventoGrupoRepository extends JpaRepository<EventoGrupo, Long>, EventoGrupoBatchRepository {
+
+    /**
+     * Percorrer os eventos dos grupos de uma turma na ordem em que ocorreram (cursor, sem carregar tudo em memória)
+     * Filtra pelos grupos atuais da turma, o que inclui eventos anteriores a uma troca de turma
+     * Deve ser consumido dentro de uma transação
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.laec.lab_service.dto.EventoRodizioDTO(e.grupoId, e.tipo, e.turno, e.presente, " +
+           "e.presencaAnterior, e.totalGrupos, e.ultimaPosicao, e.totalFaltas, e.totalPrimeiroTurno, e.totalSegundoTurno) " +
+           "FROM EventoGrupo e WHERE e.grupoId IN (SELECT g.grupoId FROM Grupo g WHERE g.turma.turmaId = :turmaId) " +
+           "ORDER BY e.eventoId ASC")
+    Stream<EventoRodizioDTO> streamByTurmaId(@Param("turmaId") Integer turmaId);
+}
@@ -0,0 +1,16 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.entity.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Inserção em lote no outbox, fora do ciclo de vida do JPA
+ */
+public interface EventoOutboxBatchRepository {
+
+    /**
+     * Insere todos os eventos em um único batch JDBC, na ordem da lista
+     */
+    void registrarEmLote(List<EventoOutbox> eventos);
+}
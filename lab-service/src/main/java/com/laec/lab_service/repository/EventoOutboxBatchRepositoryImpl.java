@@ -0,0 +1,33 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.entity.EventoOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class EventoOutboxBatchRepositoryImpl implements EventoOutboxBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO eventos_outbox (tipo, aula_id, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void registrarEmLote(List<EventoOutbox> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, eventos, eventos.size(), (ps, e) -> {
+            ps.setString(1, e.getTipo().name());
+            ps.setInt(2, e.getAulaId());
+            ps.setString(3, e.getPayload());
+            ps.setTimestamp(4, agora);
+        });
+    }
+}
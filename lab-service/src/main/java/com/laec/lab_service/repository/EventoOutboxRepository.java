@@ -0,0 +1,48 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.entity.EventoOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox, Long>, EventoOutboxBatchRepository {
+
+    /**
+     * Próximo lote de eventos pendentes, por evento_id (índice parcial idx_eventos_outbox_pendentes),
+     * sem os descartados e os recusados ainda em espera.
+     * evento_id é atribuído no INSERT, não no commit: não é a ordem de confirmação das transações.
+     * As linhas ficam bloqueadas até o fim da transação; SKIP LOCKED evita que dois relays entreguem o mesmo lote
+     */
+    @Query(value = "SELECT * FROM eventos_outbox WHERE publicado_em IS NULL AND descartado_em IS NULL " +
+                   "AND (proxima_tentativa_em IS NULL OR proxima_tentativa_em <= :agora) " +
+                   "ORDER BY evento_id LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EventoOutbox> findPendentesParaPublicar(@Param("limite") int limite, @Param("agora") LocalDateTime agora);
+
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.publicadoEm = :agora WHERE e.eventoId IN :ids")
+    int marcarPublicados(@Param("ids") Collection<Long> ids, @Param("agora") LocalDateTime agora);
+
+    /**
+     * Conta uma tentativa recusada: o evento volta à fila em proximaTentativa, ou é descartado se descartadoEm vier preenchido
+     */
+    @Modifying
+    @Query("UPDATE EventoOutbox e SET e.tentativas = e.tentativas + 1, e.ultimoErro = :erro, " +
+           "e.proximaTentativaEm = :proximaTentativa, e.descartadoEm = :descartadoEm WHERE e.eventoId = :id")
+    int registrarFalha(@Param("id") Long id, @Param("erro") String erro,
+                       @Param("proximaTentativa") LocalDateTime proximaTentativa,
+                       @Param("descartadoEm") LocalDateTime descartadoEm);
+
+    /**
+     * Remove os eventos publicados antes do limite (retenção)
+     */
+    @Modifying
+    @Query("DELETE FROM EventoOutbox e WHERE e.publicadoEm < :limite")
+    int deletePublicadosAntesDe(@Param("limite") LocalDateTime limite);
+}
@@ -0,0 +1,32 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.dto.PresencaAlteradaDTO;
+import com.laec.lab_service.entity.GrupoAula;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Operações em lote sobre grupos_aulas que não passam pelo ciclo de vida do JPA
+ */
+public interface GrupoAulaBatchRepository {
+
+    /**
+     * Insere todas as participações em um único batch JDBC e preenche os IDs gerados
+     */
+    void inserirEmLote(List<GrupoAula> participacoes);
+
+    /**
+     * Grava a presença de uma participação com um UPDATE condicional, somente se o valor mudou.
+     * Retorna a participação alterada, ou vazio se ela já tinha esse valor, é provisória ou não existe.
+     * Presença nula é tratada como presente, o padrão da coluna.
+     */
+    Optional<PresencaAlteradaDTO> alterarPresenca(Integer grupoAulaId, boolean presente);
+
+    /**
+     * Grava a lista de presença de uma aula (grupoAulaId -> presente) em um único UPDATE condicional.
+     * Só participações confirmadas da aula informada e cujo valor mudou são alteradas; retorna essas participações.
+     */
+    List<PresencaAlteradaDTO> alterarPresencas(Integer aulaId, Map<Integer, Boolean> presencas);
+}
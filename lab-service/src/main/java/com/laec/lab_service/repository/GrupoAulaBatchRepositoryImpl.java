@@ -0,0 +1,125 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.dto.PresencaAlteradaDTO;
+import com.laec.lab_service.entity.GrupoAula;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.jdbc.support.SqlArrayValue;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * GrupoAula usa IDENTITY, o que impede o Hibernate de agrupar os INSERTs.
+ * Aqui o batch é feito direto via JDBC, devolvendo as chaves geradas.
+ */
+@RequiredArgsConstructor
+public class GrupoAulaBatchRepositoryImpl implements GrupoAulaBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO grupos_aulas (aula_id, grupo_id, turno, ordem_execucao, presente, provisorio, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // O lock da linha faz um segundo UPDATE concorrente reavaliar o WHERE e não alterar nada.
+    // Participações provisórias (plano não confirmado) não recebem presença
+    private static final String ALTERAR_PRESENCA_SQL =
+            "UPDATE grupos_aulas SET presente = ?, updated_at = LOCALTIMESTAMP " +
+            "WHERE grupo_aula_id = ? AND provisorio = false AND COALESCE(presente, true) <> ? " +
+            "RETURNING grupo_aula_id, grupo_id, aula_id, turno, presente";
+
+    // O UPDATE ... FROM unnest não garante a ordem em que as linhas são bloqueadas (o plano pode usar hash join):
+    // as linhas são bloqueadas antes, em ordem de ID, para que listas concorrentes da mesma aula não travem
+    private static final String BLOQUEAR_PRESENCAS_SQL =
+            "SELECT grupo_aula_id FROM grupos_aulas WHERE grupo_aula_id = ANY(?) AND aula_id = ? " +
+            "ORDER BY grupo_aula_id FOR UPDATE";
+
+    private static final String ALTERAR_PRESENCAS_SQL =
+            "UPDATE grupos_aulas ga SET presente = v.presente, updated_at = LOCALTIMESTAMP " +
+            "FROM unnest(?, ?) AS v(grupo_aula_id, presente) " +
+            "WHERE ga.grupo_aula_id = v.grupo_aula_id AND ga.aula_id = ? AND ga.provisorio = false " +
+            "AND COALESCE(ga.presente, true) <> v.presente " +
+            "RETURNING ga.grupo_aula_id, ga.grupo_id, ga.aula_id, ga.turno, ga.presente";
+
+    private static final RowMapper<PresencaAlteradaDTO> PRESENCA_ALTERADA_MAPPER = (rs, i) -> new PresencaAlteradaDTO(
+            rs.getInt("grupo_aula_id"),
+            rs.getInt("grupo_id"),
+            rs.getInt("aula_id"),
+            rs.getInt("turno"),
+            rs.getBoolean("presente"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void inserirEmLote(List<GrupoAula> participacoes) {
+        if (participacoes.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime agora = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(agora);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, new String[]{"grupo_aula_id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        GrupoAula ga = participacoes.get(i);
+                        ps.setInt(1, ga.getAulaPratica().getAulaId());
+                        ps.setInt(2, ga.getGrupo().getGrupoId());
+                        ps.setInt(3, ga.getTurno());
+                        ps.setInt(4, ga.getOrdemExecucao());
+                        ps.setBoolean(5, ga.getPresente() == null || ga.getPresente());
+                        ps.setBoolean(6, Boolean.TRUE.equals(ga.getProvisorio()));
+                        ps.setTimestamp(7, timestamp);
+                        ps.setTimestamp(8, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return participacoes.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> chaves = keyHolder.getKeyList();
+        for (int i = 0; i < participacoes.size(); i++) {
+            GrupoAula ga = participacoes.get(i);
+            ga.setGrupoAulaId(((Number) chaves.get(i).get("grupo_aula_id")).intValue());
+            ga.setCreatedAt(agora);
+            ga.setUpdatedAt(agora);
+        }
+    }
+
+    @Override
+    public Optional<PresencaAlteradaDTO> alterarPresenca(Integer grupoAulaId, boolean presente) {
+        return jdbcTemplate.query(ALTERAR_PRESENCA_SQL, PRESENCA_ALTERADA_MAPPER, presente, grupoAulaId, presente)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<PresencaAlteradaDTO> alterarPresencas(Integer aulaId, Map<Integer, Boolean> presencas) {
+        if (presencas.isEmpty()) {
+            return List.of();
+        }
+
+        Object[] ids = presencas.keySet().toArray();
+        Object[] valores = presencas.values().toArray();
+
+        if (ids.length > 1) {
+            jdbcTemplate.queryForList(BLOQUEAR_PRESENCAS_SQL, Integer.class, new SqlArrayValue("integer", ids), aulaId);
+        }
+        return jdbcTemplate.query(ALTERAR_PRESENCAS_SQL, PRESENCA_ALTERADA_MAPPER,
+                new SqlArrayValue("integer", ids), new SqlArrayValue("boolean", valores), aulaId);
+    }
+}
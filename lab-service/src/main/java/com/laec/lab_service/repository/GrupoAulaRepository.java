@@ -1,7 +1,9 @@
 package com.laec.lab_service.repository;
 
+import com.laec.lab_service.dto.VersaoColecaoDTO;
 import com.laec.lab_service.entity.GrupoAula;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,13 +11,31 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface GrupoAulaRepository extends JpaRepository<GrupoAula, Integer> {
+public interface GrupoAulaRepository extends JpaRepository<GrupoAula, Integer>, GrupoAulaBatchRepository {
 
     /**
      * Buscar participações de uma aula
      */
     List<GrupoAula> findByAulaPratica_AulaId(Integer aulaId);
 
+    /**
+     * Buscar participações confirmadas de uma aula já com os grupos carregados (uma única consulta)
+     * O plano provisório não entra: ele não altera os contadores do rodízio enquanto não for confirmado
+     */
+    @Query("SELECT ga FROM GrupoAula ga JOIN FETCH ga.grupo " +
+           "WHERE ga.aulaPratica.aulaId = :aulaId AND ga.provisorio = false " +
+           "ORDER BY ga.turno ASC, ga.ordemExecucao ASC")
+    List<GrupoAula> findConfirmadasByAulaComGrupos(@Param("aulaId") Integer aulaId);
+
+    /**
+     * Versão das participações nas aulas da turma (quantidade, último updated_at, somas dos IDs e das versões)
+     * para GET condicional
+     */
+    @Query("SELECT new com.laec.lab_service.dto.VersaoColecaoDTO(COUNT(ga), MAX(ga.updatedAt), " +
+           "SUM(ga.grupoAulaId), SUM(ga.versao)) " +
+           "FROM GrupoAula ga WHERE ga.aulaPratica.turma.turmaId = :turmaId")
+    VersaoColecaoDTO findVersaoByTurma(@Param("turmaId") Integer turmaId);
+
     /**
      * Buscar participações de um grupo
      */
@@ -42,4 +62,26 @@ public interface GrupoAulaRepository extends JpaRepository<GrupoAula, Integer> {
      */
     @Query("SELECT COUNT(ga) FROM GrupoAula ga WHERE ga.grupo.grupoId = :grupoId AND ga.presente = false")
     Long countFaltasByGrupo(@Param("grupoId") Integer grupoId);
+
+    /**
+     * Aulas (entre as informadas) que já possuem alocação confirmada
+     */
+    @Query("SELECT DISTINCT ga.aulaPratica.aulaId FROM GrupoAula ga " +
+           "WHERE ga.aulaPratica.aulaId IN :aulasIds AND ga.provisorio = false")
+    List<Integer> findAulasComAlocacaoConfirmada(@Param("aulasIds") List<Integer> aulasIds);
+
+    /**
+     * Remover participações provisórias (plano do semestre) das aulas informadas
+     */
+    @Modifying
+    @Query("DELETE FROM GrupoAula ga WHERE ga.aulaPratica.aulaId IN :aulasIds AND ga.provisorio = true")
+    int deleteProvisoriasByAulas(@Param("aulasIds") List<Integer> aulasIds);
+
+    /**
+     * Confirmar as participações provisórias de uma aula
+     */
+    @Modifying
+    @Query("UPDATE GrupoAula ga SET ga.provisorio = false, ga.updatedAt = LOCAL DATETIME " +
+           "WHERE ga.aulaPratica.aulaId = :aulaId AND ga.provisorio = true")
+    int confirmarProvisoriasByAula(@Param("aulaId") Integer aulaId);
 }
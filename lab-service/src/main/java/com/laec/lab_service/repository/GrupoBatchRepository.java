@@ -0,0 +1,44 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.dto.ContadoresRodizio;
+import com.laec.lab_service.dto.PresencaAlteradaDTO;
+import com.laec.lab_service.dto.RodizioAplicadoDTO;
+import com.laec.lab_service.entity.GrupoAula;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Operações em lote sobre grupos que não passam pelo ciclo de vida do JPA
+ */
+public interface GrupoBatchRepository {
+
+    /**
+     * Grava posição e contadores de rodízio de vários grupos em um único batch de UPDATE
+     */
+    void atualizarContadoresEmLote(Collection<ContadoresRodizio> contadores);
+
+    /**
+     * Aplica a participação de um grupo em uma aula com um único UPDATE condicional,
+     * calculando no banco a nova posição e os contadores pelas mesmas regras de MotorRodizio.
+     * Não há SELECT prévio: o lock da linha serializa alterações concorrentes do mesmo grupo.
+     * Retorna vazio se o grupo não existir.
+     */
+    Optional<RodizioAplicadoDTO> aplicarParticipacao(Integer grupoId, Integer turno, boolean presente,
+                                                     Boolean presencaAnterior);
+
+    /**
+     * Aplica de uma vez as presenças alteradas de vários grupos (a presença anterior é o inverso da nova),
+     * com o mesmo UPDATE atômico de aplicarParticipacao. Retorna o novo estado de cada grupo.
+     */
+    List<RodizioAplicadoDTO> aplicarPresencasAlteradas(Collection<PresencaAlteradaDTO> alteradas);
+
+    /**
+     * Aplica a conclusão de uma aula (participações sem presença anterior, uma por grupo, com o grupo carregado)
+     * com o mesmo UPDATE atômico de aplicarParticipacao: cada grupo parte do valor atual da linha,
+     * e não de um estado lido antes, para não sobrescrever uma marcação de presença concorrente.
+     * Presença nula é tratada como presente, o padrão da coluna. Retorna o novo estado de cada grupo.
+     */
+    List<RodizioAplicadoDTO> aplicarConclusao(List<GrupoAula> participacoes);
+}
@@ -0,0 +1,212 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.dto.ContadoresRodizio;
+import com.laec.lab_service.dto.PresencaAlteradaDTO;
+import com.laec.lab_service.dto.RodizioAplicadoDTO;
+import com.laec.lab_service.entity.Grupo;
+import com.laec.lab_service.entity.GrupoAula;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.SqlArrayValue;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class GrupoBatchRepositoryImpl implements GrupoBatchRepository {
+
+    private static final String UPDATE_SQL =
+            "UPDATE grupos SET ultima_posicao = ?, total_faltas = ?, total_primeiro_turno = ?, " +
+            "total_segundo_turno = ?, updated_at = ? WHERE grupo_id = ?";
+
+    /**
+     * Mesmas regras de MotorRodizio.aplicar, expressas em SQL. As expressões do SET enxergam
+     * os valores antigos da linha e o RETURNING devolve os novos:
+     * - reverte o estado anterior (falta ou turno) sem deixar contador negativo;
+     * - falta: posição 0 e +1 falta; presença: inverte a posição e +1 no turno.
+     * As participações chegam como arrays (unnest), uma linha por grupo, e o total de grupos
+     * ativos da turma é contado no próprio statement.
+     */
+    private static final String APLICAR_PARTICIPACOES_SQL =
+            "UPDATE grupos g SET " +
+            "total_faltas = CASE WHEN v.reverter_falta AND g.total_faltas > 0 " +
+            "  THEN g.total_faltas - 1 ELSE g.total_faltas END " +
+            "  + CASE WHEN v.presente THEN 0 ELSE 1 END, " +
+            "total_primeiro_turno = CASE WHEN v.reverter_turno AND v.turno = 1 AND g.total_primeiro_turno > 0 " +
+            "  THEN g.total_primeiro_turno - 1 ELSE g.total_primeiro_turno END " +
+            "  + CASE WHEN v.presente AND v.turno = 1 THEN 1 ELSE 0 END, " +
+            "total_segundo_turno = CASE WHEN v.reverter_turno AND v.turno <> 1 AND g.total_segundo_turno > 0 " +
+            "  THEN g.total_segundo_turno - 1 ELSE g.total_segundo_turno END " +
+            "  + CASE WHEN v.presente AND v.turno <> 1 THEN 1 ELSE 0 END, " +
+            "ultima_posicao = CASE WHEN v.presente " +
+            "  THEN t.total - COALESCE(NULLIF(g.ultima_posicao, 0), t.total) + 1 ELSE 0 END, " +
+            "updated_at = LOCALTIMESTAMP " +
+            "FROM unnest(:grupoIds, :turnos, :presentes, :reverterFaltas, :reverterTurnos) " +
+            "  AS v(grupo_id, turno, presente, reverter_falta, reverter_turno) " +
+            "JOIN grupos gt ON gt.grupo_id = v.grupo_id " +
+            "CROSS JOIN LATERAL (SELECT COUNT(*) AS total FROM grupos a " +
+            "  WHERE a.ativo = true AND a.turma_id = gt.turma_id) t " +
+            "WHERE g.grupo_id = v.grupo_id " +
+            "RETURNING g.grupo_id, g.turma_id, t.total, g.ultima_posicao, g.total_faltas, " +
+            "g.total_primeiro_turno, g.total_segundo_turno";
+
+    // Assim como em GrupoAulaBatchRepositoryImpl, os grupos são bloqueados em ordem de ID antes do UPDATE em lote,
+    // cuja ordem de bloqueio depende do plano
+    private static final String BLOQUEAR_GRUPOS_SQL =
+            "SELECT grupo_id FROM grupos WHERE grupo_id = ANY(:grupoIds) ORDER BY grupo_id FOR UPDATE";
+
+    private static final RowMapper<RodizioAplicadoDTO> RODIZIO_APLICADO_MAPPER = (rs, i) -> new RodizioAplicadoDTO(
+            rs.getInt("turma_id"),
+            rs.getInt("total"),
+            new ContadoresRodizio(
+                    rs.getInt("grupo_id"),
+                    rs.getObject("ultima_posicao", Integer.class),
+                    rs.getInt("total_faltas"),
+                    rs.getInt("total_primeiro_turno"),
+                    rs.getInt("total_segundo_turno")));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void atualizarContadoresEmLote(Collection<ContadoresRodizio> contadores) {
+        if (contadores.isEmpty()) {
+            return;
+        }
+
+        // Cada UPDATE do lote bloqueia uma linha, na ordem da lista: em ordem de ID, como nos UPDATEs em lote
+        List<ContadoresRodizio> ordenados = contadores.stream()
+                .sorted(Comparator.comparing(ContadoresRodizio::getGrupoId))
+                .toList();
+        Timestamp agora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_SQL, ordenados, ordenados.size(), (ps, c) -> {
+            if (c.getUltimaPosicao() != null) {
+                ps.setInt(1, c.getUltimaPosicao());
+            } else {
+                ps.setNull(1, Types.INTEGER);
+            }
+            ps.setInt(2, c.getTotalFaltas());
+            ps.setInt(3, c.getTotalPrimeiroTurno());
+            ps.setInt(4, c.getTotalSegundoTurno());
+            ps.setTimestamp(5, agora);
+            ps.setInt(6, c.getGrupoId());
+        });
+        invalidarCache(contadores.stream().map(ContadoresRodizio::getGrupoId).toList());
+    }
+
+    @Override
+    public Optional<RodizioAplicadoDTO> aplicarParticipacao(Integer grupoId, Integer turno, boolean presente,
+                                                            Boolean presencaAnterior) {
+        boolean reverter = presencaAnterior != null && presencaAnterior != presente;
+        return aplicarParticipacoes(
+                new Integer[]{grupoId},
+                new Integer[]{turno},
+                new Boolean[]{presente},
+                new Boolean[]{reverter && !presencaAnterior},
+                new Boolean[]{reverter && presencaAnterior})
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<RodizioAplicadoDTO> aplicarPresencasAlteradas(Collection<PresencaAlteradaDTO> alteradas) {
+        if (alteradas.isEmpty()) {
+            return List.of();
+        }
+
+        List<PresencaAlteradaDTO> lista = List.copyOf(alteradas);
+        int n = lista.size();
+        Integer[] grupoIds = new Integer[n];
+        Integer[] turnos = new Integer[n];
+        Boolean[] presentes = new Boolean[n];
+        Boolean[] reverterFaltas = new Boolean[n];
+        Boolean[] reverterTurnos = new Boolean[n];
+        for (int i = 0; i < n; i++) {
+            PresencaAlteradaDTO alterada = lista.get(i);
+            grupoIds[i] = alterada.getGrupoId();
+            turnos[i] = alterada.getTurno();
+            presentes[i] = alterada.getPresente();
+            // A presença anterior é sempre o inverso da nova
+            reverterFaltas[i] = alterada.getPresente();
+            reverterTurnos[i] = !alterada.getPresente();
+        }
+
+        return aplicarParticipacoes(grupoIds, turnos, presentes, reverterFaltas, reverterTurnos);
+    }
+
+    @Override
+    public List<RodizioAplicadoDTO> aplicarConclusao(List<GrupoAula> participacoes) {
+        if (participacoes.isEmpty()) {
+            return List.of();
+        }
+
+        int n = participacoes.size();
+        Integer[] grupoIds = new Integer[n];
+        Integer[] turnos = new Integer[n];
+        Boolean[] presentes = new Boolean[n];
+        Boolean[] semReversao = new Boolean[n];
+        for (int i = 0; i < n; i++) {
+            GrupoAula participacao = participacoes.get(i);
+            grupoIds[i] = participacao.getGrupo().getGrupoId();
+            turnos[i] = participacao.getTurno();
+            presentes[i] = participacao.getPresente() == null || participacao.getPresente();
+            semReversao[i] = false;
+        }
+
+        return aplicarParticipacoes(grupoIds, turnos, presentes, semReversao, semReversao);
+    }
+
+    private List<RodizioAplicadoDTO> aplicarParticipacoes(Integer[] grupoIds, Integer[] turnos, Boolean[] presentes,
+                                                          Boolean[] reverterFaltas, Boolean[] reverterTurnos) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("grupoIds", new SqlArrayValue("integer", (Object[]) grupoIds))
+                .addValue("turnos", new SqlArrayValue("integer", (Object[]) turnos))
+                .addValue("presentes", new SqlArrayValue("boolean", (Object[]) presentes))
+                .addValue("reverterFaltas", new SqlArrayValue("boolean", (Object[]) reverterFaltas))
+                .addValue("reverterTurnos", new SqlArrayValue("boolean", (Object[]) reverterTurnos));
+
+        if (grupoIds.length > 1) {
+            namedParameterJdbcTemplate.queryForList(BLOQUEAR_GRUPOS_SQL, params, Integer.class);
+        }
+        List<RodizioAplicadoDTO> aplicados =
+                namedParameterJdbcTemplate.query(APLICAR_PARTICIPACOES_SQL, params, RODIZIO_APLICADO_MAPPER);
+        invalidarCache(List.of(grupoIds));
+        return aplicados;
+    }
+
+    /**
+     * Os UPDATEs via JDBC não passam pelo Hibernate: os grupos alterados e as consultas de prioridade
+     * em cache são removidos agora (para esta transação) e de novo após o fim da transação, pois uma leitura
+     * concorrente pode ter recolocado no cache o valor anterior ao commit
+     */
+    private void invalidarCache(List<Integer> grupoIds) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        Runnable invalidar = () -> {
+            grupoIds.forEach(grupoId -> cache.evictEntityData(Grupo.class, grupoId));
+            cache.evictQueryRegion(GrupoRepository.REGIAO_PRIORIDADE);
+        };
+        invalidar.run();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidar.run();
+                }
+            });
+        }
+    }
+}
@@ -1,16 +1,29 @@
 package com.laec.lab_service.repository;
 
+import com.laec.lab_service.dto.EstatisticaGrupoDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
 import com.laec.lab_service.entity.Grupo;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 @Repository
-public interface GrupoRepository extends JpaRepository<Grupo, Integer> {
+public interface GrupoRepository extends JpaRepository<Grupo, Integer>, GrupoBatchRepository {
+
+    /**
+     * Região do cache de consultas de findByTurmaOrderByPrioridade
+     */
+    String REGIAO_PRIORIDADE = "grupos-prioridade";
 
     /**
      * Buscar grupos por turma
@@ -25,7 +38,11 @@ public interface GrupoRepository extends JpaRepository<Grupo, Integer> {
     /**
      * Buscar grupos ordenados por prioridade (para determinar ordem de participação)
      * Ordena por última posição DESC (quem foi último vira primeiro) e depois por número do grupo
+     * Resultado no cache de consultas (região REGIAO_PRIORIDADE), com os grupos no cache de segundo nível
      */
+    @QueryHints({
+            @QueryHint(name = HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HINT_CACHE_REGION, value = REGIAO_PRIORIDADE)})
     @Query("SELECT g FROM Grupo g WHERE g.turma.turmaId = :turmaId AND g.ativo = true " +
            "ORDER BY g.ultimaPosicao DESC, g.numeroGrupo ASC")
     List<Grupo> findByTurmaOrderByPrioridade(@Param("turmaId") Integer turmaId);
@@ -45,4 +62,33 @@ public interface GrupoRepository extends JpaRepository<Grupo, Integer> {
      */
     @Query("SELECT COUNT(g) FROM Grupo g WHERE g.turma.turmaId = :turmaId AND g.ativo = true")
     Long countAtivosByTurma(@Param("turmaId") Integer turmaId);
+
+    /**
+     * Versão dos grupos da turma (quantidade, último updated_at, somas dos IDs e das versões) para GET condicional
+     */
+    @Query("SELECT new com.laec.lab_service.dto.VersaoColecaoDTO(COUNT(g), MAX(g.updatedAt), " +
+           "SUM(g.grupoId), SUM(g.versao)) " +
+           "FROM Grupo g WHERE g.turma.turmaId = :turmaId")
+    VersaoColecaoDTO findVersaoByTurma(@Param("turmaId") Integer turmaId);
+
+    /**
+     * Presenças, faltas e turnos de todos os grupos da turma em uma única consulta (GROUP BY sobre grupos_aulas)
+     * Considera só participações confirmadas em aulas do período; grupos sem participações vêm zerados
+     */
+    @Query("SELECT new com.laec.lab_service.dto.EstatisticaGrupoDTO(g.grupoId, g.numeroGrupo, g.nomeGrupo, g.ativo, " +
+           "SUM(CASE WHEN a.aulaId IS NOT NULL AND ga.presente = true THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.aulaId IS NOT NULL AND ga.presente = false THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.aulaId IS NOT NULL AND ga.presente = true AND ga.turno = 1 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN a.aulaId IS NOT NULL AND ga.presente = true AND ga.turno <> 1 THEN 1 ELSE 0 END)) " +
+           "FROM Grupo g " +
+           "LEFT JOIN GrupoAula ga ON ga.grupo = g AND ga.provisorio = false " +
+           "LEFT JOIN AulaPratica a ON a = ga.aulaPratica AND a.dataAula BETWEEN :dataInicio AND :dataFim " +
+           "WHERE g.turma.turmaId = :turmaId " +
+           "GROUP BY g.grupoId, g.numeroGrupo, g.nomeGrupo, g.ativo " +
+           "ORDER BY g.numeroGrupo ASC")
+    List<EstatisticaGrupoDTO> findEstatisticasPresencaByTurma(
+            @Param("turmaId") Integer turmaId,
+            @Param("dataInicio") LocalDate dataInicio,
+            @Param("dataFim") LocalDate dataFim
+    );
 }
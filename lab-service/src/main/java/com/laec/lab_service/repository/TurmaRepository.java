@@ -1,7 +1,9 @@
 package com.laec.lab_service.repository;
 
+import com.laec.lab_service.dto.ContagemTurmasDTO;
 import com.laec.lab_service.entity.Turma;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -9,7 +11,9 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface TurmaRepository extends JpaRepository<Turma, Integer> {
+public interface TurmaRepository extends JpaRepository<Turma, Integer>, JpaSpecificationExecutor<Turma> {
+
+    // Filtros dinâmicos (ano, semestre, turno, unidade): findAll(TurmaSpecifications.comFiltros(...))
 
     /**
      * Buscar turmas por ano
@@ -36,27 +40,19 @@ public interface TurmaRepository extends JpaRepository<Turma, Integer> {
      */
     List<Turma> findByDiaSemana(Turma.DiaSemana diaSemana);
 
-    /**
-     * Buscar turmas com filtros dinâmicos
-     */
-    @Query("SELECT t FROM Turma t WHERE " +
-           "(:ano IS NULL OR t.ano = :ano) AND " +
-           "(:semestre IS NULL OR t.semestre = :semestre) AND " +
-           "(:turno IS NULL OR t.turno = :turno) AND " +
-           "(:unidade IS NULL OR t.unidade = :unidade)")
-    List<Turma> findByFilters(
-            @Param("ano") Integer ano,
-            @Param("semestre") Turma.Semestre semestre,
-            @Param("turno") Turma.Turno turno,
-            @Param("unidade") Turma.Unidade unidade
-    );
-
     /**
      * Buscar anos letivos distintos
      */
     @Query("SELECT DISTINCT t.ano FROM Turma t ORDER BY t.ano DESC")
     List<Integer> findDistinctAnos();
 
+    /**
+     * Contar turmas por ano, semestre, turno e unidade (base do resumo de anos letivos)
+     */
+    @Query("SELECT new com.laec.lab_service.dto.ContagemTurmasDTO(t.ano, t.semestre, t.turno, t.unidade, COUNT(t)) " +
+           "FROM Turma t GROUP BY t.ano, t.semestre, t.turno, t.unidade")
+    List<ContagemTurmasDTO> contarPorCombinacao();
+
     /**
      * Verificar se existe turma com os mesmos parâmetros
      */
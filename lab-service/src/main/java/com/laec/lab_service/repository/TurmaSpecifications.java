@@ -0,0 +1,39 @@
+package com.laec.lab_service.repository;
+
+import com.laec.lab_service.entity.Turma;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtros dinâmicos de turmas: só os filtros informados viram predicados no WHERE.
+ * Cada combinação gera um SQL próprio (ex.: "WHERE ano = ? AND unidade = ?"), que o PostgreSQL
+ * planeja usando os índices compostos de turmas, em vez do plano genérico de "(? IS NULL OR ano = ?)".
+ */
+public final class TurmaSpecifications {
+
+    private TurmaSpecifications() {
+    }
+
+    public static Specification<Turma> comFiltros(Integer ano, Turma.Semestre semestre, Turma.Turno turno,
+                                                  Turma.Unidade unidade) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>(4);
+            if (ano != null) {
+                predicados.add(cb.equal(root.get("ano"), ano));
+            }
+            if (semestre != null) {
+                predicados.add(cb.equal(root.get("semestre"), semestre));
+            }
+            if (turno != null) {
+                predicados.add(cb.equal(root.get("turno"), turno));
+            }
+            if (unidade != null) {
+                predicados.add(cb.equal(root.get("unidade"), unidade));
+            }
+            return cb.and(predicados.toArray(new Predicate[0]));
+        };
+    }
+}
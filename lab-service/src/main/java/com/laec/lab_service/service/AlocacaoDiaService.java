@@ -0,0 +1,96 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.AlocacaoDiaResponseDTO;
+import com.laec.lab_service.dto.AulaPraticaResponseDTO;
+import com.laec.lab_service.entity.AulaPratica;
+import com.laec.lab_service.entity.Turma;
+import com.laec.lab_service.repository.AulaPraticaRepository;
+import com.laec.lab_service.repository.GrupoAulaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Alocação de grupos de um dia inteiro: cada turma é alocada em paralelo no alocacaoExecutor,
+ * em sua própria transação (AulaPraticaService.alocarGruposAutomaticamente).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AlocacaoDiaService {
+
+    private final AulaPraticaRepository aulaPraticaRepository;
+    private final GrupoAulaRepository grupoAulaRepository;
+    private final AulaPraticaService aulaPraticaService;
+    private final ThreadPoolTaskExecutor alocacaoExecutor;
+
+    public AlocacaoDiaResponseDTO alocarGruposDoDia(LocalDate data, String unidade) {
+        log.info("Alocando grupos de todas as turmas em {} (unidade: {})", data, unidade);
+        long inicio = System.nanoTime();
+
+        List<AulaPratica> aulas = unidade != null
+                ? aulaPraticaRepository.findByDataAulaAndUnidade(data, Turma.Unidade.valueOf(unidade))
+                : aulaPraticaRepository.findByDataAula(data);
+
+        Set<Integer> jaAlocadas = aulas.isEmpty()
+                ? Set.of()
+                : new HashSet<>(grupoAulaRepository.findAulasComAlocacaoConfirmada(
+                        aulas.stream().map(AulaPratica::getAulaId).collect(Collectors.toList())));
+
+        List<CompletableFuture<AlocacaoDiaResponseDTO.ResultadoTurmaDTO>> tarefas = aulas.stream()
+                .map(aula -> jaAlocadas.contains(aula.getAulaId())
+                        ? CompletableFuture.completedFuture(resultado(aula, "JA_ALOCADA", null, 0,
+                                "Aula já possui grupos alocados"))
+                        : CompletableFuture.supplyAsync(() -> alocar(aula), alocacaoExecutor))
+                .collect(Collectors.toList());
+
+        List<AlocacaoDiaResponseDTO.ResultadoTurmaDTO> resultados = tarefas.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+
+        long duracaoTotalMs = (System.nanoTime() - inicio) / 1_000_000;
+        log.info("Alocação do dia {} concluída: {} aulas em {} ms", data, aulas.size(), duracaoTotalMs);
+
+        return AlocacaoDiaResponseDTO.builder()
+                .data(data)
+                .unidade(unidade)
+                .totalAulas(aulas.size())
+                .duracaoTotalMs(duracaoTotalMs)
+                .resultados(resultados)
+                .build();
+    }
+
+    private AlocacaoDiaResponseDTO.ResultadoTurmaDTO alocar(AulaPratica aula) {
+        long inicio = System.nanoTime();
+        try {
+            AulaPraticaResponseDTO alocada = aulaPraticaService.alocarGruposAutomaticamente(aula.getAulaId());
+            return resultado(aula, "ALOCADA", alocada.getGruposParticipantes().size(),
+                    (System.nanoTime() - inicio) / 1_000_000, null);
+        } catch (RuntimeException e) {
+            log.error("Erro ao alocar grupos da turma {} (aula {}): {}",
+                    aula.getTurma().getTurmaId(), aula.getAulaId(), e.getMessage());
+            return resultado(aula, "ERRO", 0, (System.nanoTime() - inicio) / 1_000_000, e.getMessage());
+        }
+    }
+
+    private AlocacaoDiaResponseDTO.ResultadoTurmaDTO resultado(AulaPratica aula, String status, Integer gruposAlocados,
+                                                              long duracaoMs, String mensagem) {
+        return AlocacaoDiaResponseDTO.ResultadoTurmaDTO.builder()
+                .turmaId(aula.getTurma().getTurmaId())
+                .nomeTurma(aula.getTurma().getNomeTurma())
+                .aulaId(aula.getAulaId())
+                .status(status)
+                .gruposAlocados(gruposAlocados)
+                .duracaoMs(duracaoMs)
+                .mensagem(mensagem)
+                .build();
+    }
+}
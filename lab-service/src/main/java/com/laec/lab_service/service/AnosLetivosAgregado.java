@@ -0,0 +1,210 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.ContagemTurmasDTO;
+import com.laec.lab_service.dto.ResumoAnosLetivosDTO;
+import com.laec.lab_service.dto.TurmaResponseDTO;
+import com.laec.lab_service.entity.Turma;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Agregado em memória dos anos letivos: quantidade de turmas por ano, semestre, turno e unidade.
+ * É carregado uma vez com um único GROUP BY e depois mantido de forma incremental pelas escritas de TurmaService
+ * (cada criação, alteração ou remoção aplica +1/-1 após o commit), de modo que a lista de anos, a contagem
+ * por ano e o resumo da barra de filtros não consultam o banco.
+ * O agregado é recarregado um tempo fixo após cada carga, o que limita a defasagem de alterações feitas fora
+ * desta instância (outra instância do serviço, migrações ou SQL manual).
+ * A lista de anos é imutável e o resumo é devolvido como cópia: quem lê não altera o agregado.
+ */
+@Component
+@Slf4j
+public class AnosLetivosAgregado {
+
+    private volatile Estado estado;
+
+    private final GeracaoEscritas escritas = new GeracaoEscritas();
+
+    private final Duration expiracao;
+
+    public AnosLetivosAgregado(@Value("${lab.anos-letivos.expiracao:PT1H}") Duration expiracao) {
+        this.expiracao = expiracao;
+    }
+
+    /**
+     * Anos letivos com turmas, do mais recente para o mais antigo
+     */
+    public List<Integer> getAnos(Supplier<List<ContagemTurmasDTO>> loader) {
+        return getEstado(loader).anos();
+    }
+
+    public long contarTurmas(Integer ano, Supplier<List<ContagemTurmasDTO>> loader) {
+        return getEstado(loader).totalDoAno(ano);
+    }
+
+    public ResumoAnosLetivosDTO getResumo(Supplier<List<ContagemTurmasDTO>> loader) {
+        return getEstado(loader).resumo(Year.now().getValue()).copia();
+    }
+
+    /**
+     * Aplica ao agregado a escrita de uma turma após o commit.
+     *
+     * @param antes  estado anterior (null na criação)
+     * @param depois estado novo (null na remoção)
+     */
+    public void turmaAlterada(TurmaResponseDTO antes, TurmaResponseDTO depois) {
+        Combinacao removida = antes != null ? Combinacao.de(antes) : null;
+        Combinacao adicionada = depois != null ? Combinacao.de(depois) : null;
+        if (removida != null && removida.equals(adicionada)) {
+            return;
+        }
+
+        escritas.aposCommit(() -> aplicar(removida, adicionada));
+    }
+
+    private synchronized void aplicar(Combinacao removida, Combinacao adicionada) {
+        Estado atual = estado;
+        if (atual != null) {
+            estado = atual.com(removida, adicionada);
+        }
+    }
+
+    private Estado getEstado(Supplier<List<ContagemTurmasDTO>> loader) {
+        Estado atual = estado;
+        if (atual != null && !atual.expirado()) {
+            return atual;
+        }
+
+        long marca = escritas.marcar();
+        Map<Combinacao, Long> contagens = new HashMap<>();
+        for (ContagemTurmasDTO c : loader.get()) {
+            contagens.put(new Combinacao(c.getAno(), c.getSemestre(), c.getTurno(), c.getUnidade()), c.getTotal());
+        }
+        Estado carregado = new Estado(contagens, System.nanoTime() + expiracao.toNanos());
+        log.info("Agregado de anos letivos carregado: {} combinações", contagens.size());
+
+        synchronized (this) {
+            Estado corrente = estado;
+            if (escritas.inalterada(marca) && (corrente == null || corrente.expirado())) {
+                estado = carregado;
+            }
+        }
+        return carregado;
+    }
+
+    record Combinacao(int ano, Turma.Semestre semestre, Turma.Turno turno, Turma.Unidade unidade) {
+
+        static Combinacao de(TurmaResponseDTO turma) {
+            return new Combinacao(turma.getAno(), Turma.Semestre.valueOf(turma.getSemestre()),
+                    Turma.Turno.valueOf(turma.getTurno()), Turma.Unidade.valueOf(turma.getUnidade()));
+        }
+    }
+
+    /**
+     * Contagens imutáveis; anos, totais e o resumo são derivados sob demanda e guardados no próprio estado.
+     * Os deltas das escritas mantêm o prazo da carga original.
+     */
+    static final class Estado {
+
+        private final Map<Combinacao, Long> contagens;
+        private final Map<Integer, Long> totalPorAno;
+        private final List<Integer> anos;
+
+        // System.nanoTime() a partir do qual o agregado é recarregado do banco
+        private final long expiraEm;
+
+        // Montado na primeira leitura do resumo; refeito se o ano corrente mudar (campo ativo)
+        private volatile ResumoAnosLetivosDTO resumo;
+
+        Estado(Map<Combinacao, Long> contagens, long expiraEm) {
+            this.contagens = Map.copyOf(contagens);
+            this.expiraEm = expiraEm;
+            Map<Integer, Long> totais = new TreeMap<>(Comparator.reverseOrder());
+            contagens.forEach((c, total) -> totais.merge(c.ano(), total, Long::sum));
+            this.totalPorAno = totais;
+            this.anos = List.copyOf(totais.keySet());
+        }
+
+        boolean expirado() {
+            return System.nanoTime() - expiraEm >= 0;
+        }
+
+        List<Integer> anos() {
+            return anos;
+        }
+
+        long totalDoAno(Integer ano) {
+            return totalPorAno.getOrDefault(ano, 0L);
+        }
+
+        Estado com(Combinacao removida, Combinacao adicionada) {
+            Map<Combinacao, Long> novas = new HashMap<>(contagens);
+            if (removida != null) {
+                novas.computeIfPresent(removida, (c, total) -> total > 1 ? total - 1 : null);
+            }
+            if (adicionada != null) {
+                novas.merge(adicionada, 1L, Long::sum);
+            }
+            return new Estado(novas, expiraEm);
+        }
+
+        ResumoAnosLetivosDTO resumo(int anoAtual) {
+            ResumoAnosLetivosDTO atual = resumo;
+            if (atual == null || atual.getAnoAtual() != anoAtual) {
+                atual = montarResumo(anoAtual);
+                resumo = atual;
+            }
+            return atual;
+        }
+
+        private ResumoAnosLetivosDTO montarResumo(int anoAtual) {
+            Map<Integer, ResumoAnosLetivosDTO.AnoLetivoResumoDTO> porAno = new LinkedHashMap<>();
+            long totalTurmas = 0;
+            for (Map.Entry<Integer, Long> entry : totalPorAno.entrySet()) {
+                Integer ano = entry.getKey();
+                porAno.put(ano, ResumoAnosLetivosDTO.AnoLetivoResumoDTO.builder()
+                        .ano(ano)
+                        .descricao(String.valueOf(ano))
+                        .ativo(ano == anoAtual)
+                        .totalTurmas(entry.getValue())
+                        .porSemestre(zerados(Turma.Semestre.values()))
+                        .porTurno(zerados(Turma.Turno.values()))
+                        .porUnidade(zerados(Turma.Unidade.values()))
+                        .build());
+                totalTurmas += entry.getValue();
+            }
+
+            contagens.forEach((c, total) -> {
+                ResumoAnosLetivosDTO.AnoLetivoResumoDTO ano = porAno.get(c.ano());
+                ano.getPorSemestre().merge(c.semestre().name(), total, Long::sum);
+                ano.getPorTurno().merge(c.turno().name(), total, Long::sum);
+                ano.getPorUnidade().merge(c.unidade().name(), total, Long::sum);
+            });
+
+            return ResumoAnosLetivosDTO.builder()
+                    .anoAtual(anoAtual)
+                    .totalTurmas(totalTurmas)
+                    .anos(new ArrayList<>(porAno.values()))
+                    .build();
+        }
+
+        private static Map<String, Long> zerados(Enum<?>[] valores) {
+            Map<String, Long> mapa = new LinkedHashMap<>();
+            for (Enum<?> valor : valores) {
+                mapa.put(valor.name(), 0L);
+            }
+            return mapa;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.EventoAulaDTO;
+import com.laec.lab_service.dto.EventoPublicadoDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distribuição em processo das alterações de aulas para os inscritos via Server-Sent Events.
+ * Cada inscrito é um SseEmitter (requisição assíncrona do servlet): conexões ociosas não ocupam thread.
+ * Os eventos chegam do outbox (OutboxRelay) e são enviados por uma única thread (eventosAulaExecutor),
+ * o que mantém a ordem de entrega do relay e não atrasa a requisição que fez a alteração.
+ * O JSON de cada evento é gerado uma vez, na gravação do outbox, qualquer que seja o número de inscritos;
+ * o id SSE é o eventoId do outbox.
+ */
+@Component
+@Slf4j
+public class AulaEventosHub {
+
+    private final Map<Integer, Set<SseEmitter>> inscritosPorAula = new ConcurrentHashMap<>();
+    private final AtomicInteger totalInscritos = new AtomicInteger();
+
+    private final ThreadPoolTaskExecutor eventosAulaExecutor;
+    private final Duration tempoLimite;
+
+    public AulaEventosHub(ThreadPoolTaskExecutor eventosAulaExecutor,
+                          MeterRegistry meterRegistry,
+                          @Value("${lab.aulas.stream.tempo-limite:PT30M}") Duration tempoLimite) {
+        this.eventosAulaExecutor = eventosAulaExecutor;
+        this.tempoLimite = tempoLimite;
+        Gauge.builder("lab.aulas.stream.inscritos", totalInscritos, AtomicInteger::get)
+                .description("Conexões abertas em GET /api/aulas/{id}/stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inscreve um cliente nas alterações da aula; a conexão é encerrada após o tempo limite
+     * e o cliente (EventSource) reconecta sozinho
+     */
+    public SseEmitter inscrever(Integer aulaId) {
+        SseEmitter emitter = new SseEmitter(tempoLimite.toMillis());
+        // compute/computeIfPresent são atômicos por aula: uma inscrição não cai em um conjunto que está sendo removido
+        inscritosPorAula.compute(aulaId, (id, emitters) -> {
+            Set<SseEmitter> conjunto = emitters != null ? emitters : new CopyOnWriteArraySet<>();
+            conjunto.add(emitter);
+            return conjunto;
+        });
+        totalInscritos.incrementAndGet();
+        emitter.onCompletion(() -> remover(aulaId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(erro -> remover(aulaId, emitter));
+
+        // Primeiro envio confirma a conexão para o cliente e para proxies intermediários
+        try {
+            emitter.send(SseEmitter.event().comment("inscrito na aula " + aulaId));
+        } catch (IOException e) {
+            remover(aulaId, emitter);
+        }
+        log.info("Inscrição no stream da aula {} ({} conexões abertas)", aulaId, totalInscritos.get());
+        return emitter;
+    }
+
+    /**
+     * Evento entregue pelo OutboxRelay (já confirmado no banco). Sem inscritos na aula, não faz nada.
+     */
+    @EventListener
+    public void eventoPublicado(EventoPublicadoDTO evento) {
+        if (evento.getTipo() == EventoAulaDTO.Tipo.criada || !inscritosPorAula.containsKey(evento.getAulaId())) {
+            return;
+        }
+        try {
+            eventosAulaExecutor.execute(() -> enviar(evento));
+        } catch (TaskRejectedException e) {
+            // Fila cheia: os clientes perdem este evento e se sincronizam no próximo GET da aula
+            log.warn("Evento {} da aula {} descartado: fila de envio cheia", evento.getTipo(), evento.getAulaId());
+        }
+    }
+
+    /**
+     * Comentário periódico: mantém as conexões ociosas abertas em proxies e detecta clientes desconectados
+     */
+    @Scheduled(fixedDelayString = "${lab.aulas.stream.heartbeat:PT25S}")
+    public void heartbeat() {
+        inscritosPorAula.forEach((aulaId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("ping"));
+                } catch (IOException | IllegalStateException e) {
+                    remover(aulaId, emitter);
+                }
+            }
+        });
+    }
+
+    private void enviar(EventoPublicadoDTO evento) {
+        Set<SseEmitter> emitters = inscritosPorAula.get(evento.getAulaId());
+        if (emitters == null) {
+            return;
+        }
+
+        // Montada uma vez: o builder não pode ser reaproveitado, mas o conjunto montado pode
+        Set<ResponseBodyEmitter.DataWithMediaType> mensagem = SseEmitter.event()
+                .id(String.valueOf(evento.getEventoId()))
+                .name(evento.getTipo().name())
+                .data(evento.getPayload())
+                .build();
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(mensagem);
+                if (evento.getTipo() == EventoAulaDTO.Tipo.removida) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                remover(evento.getAulaId(), emitter);
+            }
+        }
+    }
+
+    private void remover(Integer aulaId, SseEmitter emitter) {
+        inscritosPorAula.computeIfPresent(aulaId, (id, emitters) -> {
+            if (emitters.remove(emitter)) {
+                totalInscritos.decrementAndGet();
+            }
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -2,7 +2,12 @@ package com.laec.lab_service.service;
 
 import com.laec.lab_service.dto.AulaPraticaRequestDTO;
 import com.laec.lab_service.dto.AulaPraticaResponseDTO;
-import com.laec.lab_service.dto.PrioridadeGruposDTO;
+import com.laec.lab_service.dto.CursorAulaDTO;
+import com.laec.lab_service.dto.EventoAulaDTO;
+import com.laec.lab_service.dto.ListaPresencaRequestDTO;
+import com.laec.lab_service.dto.PaginaAulasDTO;
+import com.laec.lab_service.dto.PresencaAlteradaDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
 import com.laec.lab_service.entity.AulaPratica;
 import com.laec.lab_service.entity.Grupo;
 import com.laec.lab_service.entity.GrupoAula;
@@ -12,14 +17,21 @@ import com.laec.lab_service.exception.ResourceNotFoundException;
 import com.laec.lab_service.repository.AulaPraticaRepository;
 import com.laec.lab_service.repository.GrupoAulaRepository;
 import com.laec.lab_service.repository.GrupoRepository;
-import com.laec.lab_service.repository.TurmaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,10 +42,19 @@ public class AulaPraticaService {
     private final AulaPraticaRepository aulaPraticaRepository;
     private final GrupoRepository grupoRepository;
     private final GrupoAulaRepository grupoAulaRepository;
-    private final TurmaRepository turmaRepository;
+    private final TurmaService turmaService;
     private final GrupoService grupoService;
+    private final OutboxEventos outboxEventos;
 
-    private static final int MAX_GRUPOS_POR_TURNO = 8;
+    // Limites usados quando o período do histórico não é informado
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1900, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
+
+    @Value("${lab.historico.tamanho-pagina:20}")
+    private int tamanhoPaginaPadrao;
+
+    @Value("${lab.historico.tamanho-maximo:100}")
+    private int tamanhoMaximoPagina;
 
     @Transactional(readOnly = true)
     public List<AulaPraticaResponseDTO> getAulasByTurma(Integer turmaId) {
@@ -46,11 +67,73 @@ public class AulaPraticaService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Versão das aulas da turma (GET condicional): aulas e participações em consultas agregadas, sem carregá-las.
+     * Inclui os grupos (número e nome vão em cada participação) e a turma (capacidade dos turnos).
+     */
+    @Transactional(readOnly = true)
+    public VersaoColecaoDTO getVersaoAulasByTurma(Integer turmaId) {
+        return aulaPraticaRepository.findVersaoByTurma(turmaId)
+                .com(grupoAulaRepository.findVersaoByTurma(turmaId))
+                .com(grupoService.getVersaoGruposByTurma(turmaId));
+    }
+
+    /**
+     * Histórico de aulas paginado por cursor (data_aula, aula_id), da mais recente para a mais antiga.
+     * Cada página custa duas consultas (IDs da página + aulas com participantes), independente do tamanho do histórico.
+     */
+    @Transactional(readOnly = true)
+    public PaginaAulasDTO getHistoricoAulas(Integer turmaId, String cursor, Integer tamanho,
+                                            LocalDate dataInicio, LocalDate dataFim) {
+        int tamanhoPagina = tamanho != null ? Math.min(Math.max(tamanho, 1), tamanhoMaximoPagina) : tamanhoPaginaPadrao;
+        log.info("Buscando histórico de aulas da turma {} - cursor: {}, tamanho: {}", turmaId, cursor, tamanhoPagina);
+
+        CursorAulaDTO posicao = cursor != null && !cursor.isBlank()
+                ? CursorAulaDTO.decodificar(cursor)
+                : new CursorAulaDTO(DATA_MAXIMA, Integer.MAX_VALUE);
+
+        // Busca uma posição a mais para saber se existe próxima página
+        List<CursorAulaDTO> posicoes = aulaPraticaRepository.findPaginaByTurma(
+                turmaId,
+                dataInicio != null ? dataInicio : DATA_MINIMA,
+                dataFim != null ? dataFim : DATA_MAXIMA,
+                posicao.getDataAula(),
+                posicao.getAulaId(),
+                Limit.of(tamanhoPagina + 1));
+
+        boolean temMais = posicoes.size() > tamanhoPagina;
+        List<CursorAulaDTO> pagina = temMais ? posicoes.subList(0, tamanhoPagina) : posicoes;
+
+        List<AulaPratica> aulas = pagina.isEmpty()
+                ? List.of()
+                : aulaPraticaRepository.findByAulaIdInOrderByDataAulaDescAulaIdDesc(
+                        pagina.stream().map(CursorAulaDTO::getAulaId).toList());
+
+        // O cursor vem da página de IDs: uma aula removida entre as duas consultas não desloca a paginação
+        String proximoCursor = temMais ? pagina.get(pagina.size() - 1).codificar() : null;
+
+        return PaginaAulasDTO.builder()
+                .aulas(aulas.stream().map(this::toResponseDTO).collect(Collectors.toList()))
+                .tamanho(tamanhoPagina)
+                .temMais(temMais)
+                .proximoCursor(proximoCursor)
+                .build();
+    }
+
+    /**
+     * Verifica se a aula existe sem carregá-la (ex.: antes de abrir o stream da aula)
+     */
+    public void verificarAula(Integer id) {
+        if (!aulaPraticaRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Aula não encontrada: " + id);
+        }
+    }
+
     @Transactional(readOnly = true)
     public AulaPraticaResponseDTO getAulaById(Integer id) {
         log.info("Buscando aula: {}", id);
         
-        AulaPratica aula = aulaPraticaRepository.findById(id)
+        AulaPratica aula = aulaPraticaRepository.findComParticipantesByAulaId(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Aula não encontrada: " + id));
         
         return toResponseDTO(aula);
@@ -61,8 +144,7 @@ public class AulaPraticaService {
         log.info("Criando aula prática: {}", request);
 
         // Validar turma
-        Turma turma = turmaRepository.findById(request.getTurmaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + request.getTurmaId()));
+        Turma turma = turmaService.getReferencia(request.getTurmaId());
 
         // Verificar se já existe aula na data
         if (aulaPraticaRepository.existsByTurma_TurmaIdAndDataAula(request.getTurmaId(), request.getDataAula())) {
@@ -81,13 +163,21 @@ public class AulaPraticaService {
         AulaPratica savedAula = aulaPraticaRepository.save(aula);
 
         // Se foram especificados grupos, alocar automaticamente com base na prioridade
+        List<GrupoAula> participacoes = new ArrayList<>();
         if (request.getGruposIds() != null && !request.getGruposIds().isEmpty()) {
-            alocarGruposNaAula(savedAula, request.getGruposIds());
+            List<Grupo> grupos = grupoRepository.findByTurmaOrderByPrioridade(turma.getTurmaId());
+            participacoes = alocarGruposNaAula(savedAula, grupos, new HashSet<>(request.getGruposIds()));
         }
 
         log.info("Aula criada: {}", savedAula.getAulaId());
-        
-        return toResponseDTO(savedAula);
+
+        AulaPraticaResponseDTO response = toResponseDTO(savedAula, participacoes);
+        outboxEventos.registrar(EventoAulaDTO.builder()
+                .tipo(EventoAulaDTO.Tipo.criada)
+                .aulaId(response.getAulaId())
+                .participacoes(response.getGruposParticipantes())
+                .build());
+        return response;
     }
 
     @Transactional
@@ -104,40 +194,161 @@ public class AulaPraticaService {
             throw new IllegalStateException("Não há grupos cadastrados para esta turma");
         }
 
-        List<Integer> gruposIds = grupos.stream()
-                .map(Grupo::getGrupoId)
-                .collect(Collectors.toList());
+        // Um plano provisório existente é substituído pela alocação definitiva
+        int provisorias = grupoAulaRepository.deleteProvisoriasByAulas(List.of(aulaId));
+        if (provisorias > 0) {
+            log.info("{} participações provisórias removidas da aula {}", provisorias, aulaId);
+        }
 
-        alocarGruposNaAula(aula, gruposIds);
+        List<GrupoAula> participacoes = alocarGruposNaAula(aula, grupos, null);
 
-        return toResponseDTO(aula);
+        AulaPraticaResponseDTO response = toResponseDTO(aula, participacoes);
+        publicarAlocacao(response);
+        return response;
     }
 
-    private void alocarGruposNaAula(AulaPratica aula, List<Integer> gruposIds) {
-        // Obter ordem de prioridade
-        PrioridadeGruposDTO prioridade = grupoService.calcularPrioridadeParaProximaAula(aula.getTurma().getTurmaId());
+    /**
+     * Gera um plano provisório de alocação para todas as próximas aulas da turma.
+     * O rodízio é projetado em memória a partir do estado atual dos grupos, considerando todos presentes,
+     * e as participações de todas as aulas são gravadas em um único batch.
+     * Aulas com alocação já confirmada não são alteradas, mas continuam avançando o rodízio.
+     */
+    @Transactional
+    public List<AulaPraticaResponseDTO> gerarPlanoAlocacao(Integer turmaId) {
+        log.info("Gerando plano de alocação para turma: {}", turmaId);
 
-        // Mapear IDs para ordem de prioridade
-        List<PrioridadeGruposDTO.GrupoComPrioridade> gruposOrdenados = prioridade.getGruposOrdenados().stream()
-                .filter(g -> gruposIds.contains(g.getGrupoId()))
+        if (turmaService.buscarTurma(turmaId).isEmpty()) {
+            throw new ResourceNotFoundException("Turma não encontrada: " + turmaId);
+        }
+
+        List<Grupo> grupos = grupoRepository.findByTurmaOrderByPrioridade(turmaId);
+        if (grupos.isEmpty()) {
+            throw new IllegalStateException("Não há grupos cadastrados para esta turma");
+        }
+
+        List<AulaPratica> aulas = aulaPraticaRepository.findProximasAulasPlanejadas(turmaId);
+        if (aulas.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> aulasIds = aulas.stream().map(AulaPratica::getAulaId).collect(Collectors.toList());
+        Set<Integer> aulasConfirmadas = new HashSet<>(grupoAulaRepository.findAulasComAlocacaoConfirmada(aulasIds));
+        grupoAulaRepository.deleteProvisoriasByAulas(aulasIds);
+
+        CapacidadeTurma capacidade = grupoService.capacidadeDaTurma(turmaId);
+        avisarCapacidadeExcedida(turmaId, capacidade, grupos.size());
+
+        long inicio = System.nanoTime();
+        // Índice no motor = índice em grupos
+        MotorRodizio motor = new MotorRodizio(grupos.size());
+        for (Grupo grupo : grupos) {
+            motor.adicionar(grupo);
+        }
+
+        List<GrupoAula> plano = new ArrayList<>();
+        Map<Integer, List<GrupoAula>> planoPorAula = new LinkedHashMap<>();
+
+        for (AulaPratica aula : aulas) {
+            motor.ordenar();
+            boolean confirmada = aulasConfirmadas.contains(aula.getAulaId());
+            List<GrupoAula> participacoes = new ArrayList<>(grupos.size());
+
+            for (int k = 0; k < grupos.size(); k++) {
+                int indice = motor.naFila(k);
+                int turno = capacidade.turnoNaFila(k, grupos.size());
+                if (!confirmada) {
+                    GrupoAula grupoAula = new GrupoAula();
+                    grupoAula.setAulaPratica(aula);
+                    grupoAula.setGrupo(grupos.get(indice));
+                    grupoAula.setTurno(turno);
+                    grupoAula.setOrdemExecucao(capacidade.ordemNaFila(k, grupos.size()));
+                    grupoAula.setPresente(true);
+                    grupoAula.setProvisorio(true);
+                    participacoes.add(grupoAula);
+                }
+
+                // Projeção: grupo considerado presente na aula
+                motor.aplicar(indice, turno, true, MotorRodizio.SEM_ANTERIOR, grupos.size());
+            }
+
+            if (!confirmada) {
+                plano.addAll(participacoes);
+                planoPorAula.put(aula.getAulaId(), participacoes);
+            }
+        }
+        long projecaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        grupoAulaRepository.inserirEmLote(plano);
+
+        log.info("Plano da turma {} gerado: {} aulas, {} participações, projeção em {} ms", 
+                turmaId, planoPorAula.size(), plano.size(), projecaoMs);
+
+        List<AulaPraticaResponseDTO> aulasPlanejadas = aulas.stream()
+                .filter(aula -> planoPorAula.containsKey(aula.getAulaId()))
+                .map(aula -> toResponseDTO(aula, planoPorAula.get(aula.getAulaId())))
                 .collect(Collectors.toList());
+        outboxEventos.registrar(aulasPlanejadas.stream()
+                .map(AulaPraticaService::eventoAlocacao)
+                .collect(Collectors.toList()));
+        return aulasPlanejadas;
+    }
+
+    /**
+     * Confirma o plano provisório de uma aula, tornando a alocação definitiva
+     */
+    @Transactional
+    public AulaPraticaResponseDTO confirmarPlano(Integer aulaId) {
+        log.info("Confirmando plano da aula: {}", aulaId);
 
-        // Criar registros de participação
-        for (PrioridadeGruposDTO.GrupoComPrioridade grupoPrioridade : gruposOrdenados) {
-            Grupo grupo = grupoRepository.findById(grupoPrioridade.getGrupoId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Grupo não encontrado: " + grupoPrioridade.getGrupoId()));
+        AulaPratica aula = aulaPraticaRepository.findById(aulaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Aula não encontrada: " + aulaId));
+
+        int confirmadas = grupoAulaRepository.confirmarProvisoriasByAula(aulaId);
+        log.info("{} participações confirmadas na aula {}", confirmadas, aulaId);
+
+        AulaPraticaResponseDTO response = toResponseDTO(aula, grupoAulaRepository.findConfirmadasByAulaComGrupos(aulaId));
+        publicarAlocacao(response);
+        return response;
+    }
 
-            GrupoAula grupoAula = new GrupoAula();
-            grupoAula.setAulaPratica(aula);
-            grupoAula.setGrupo(grupo);
-            grupoAula.setTurno(grupoPrioridade.getTurnoSugerido());
-            grupoAula.setOrdemExecucao(grupoPrioridade.getOrdemSugerida());
-            grupoAula.setPresente(true); // Padrão: presente
+    /**
+     * Aloca os grupos na aula em lote: a lista já vem ordenada por prioridade (uma única consulta),
+     * turno e ordem são atribuídos em memória e todas as participações são gravadas em um só batch.
+     * Se gruposIds for null, todos os grupos da lista são alocados.
+     * A fila é dividida entre os turnos conforme a capacidade da turma (CapacidadeTurma).
+     */
+    private List<GrupoAula> alocarGruposNaAula(AulaPratica aula, List<Grupo> gruposOrdenados, Set<Integer> gruposIds) {
+        List<GrupoAula> participacoes = new ArrayList<>(gruposOrdenados.size());
+        Integer turmaId = aula.getTurma().getTurmaId();
+        int totalGrupos = gruposOrdenados.size();
+        CapacidadeTurma capacidade = grupoService.capacidadeDaTurma(turmaId);
+        avisarCapacidadeExcedida(turmaId, capacidade, totalGrupos);
+
+        for (int k = 0; k < gruposOrdenados.size(); k++) {
+            Grupo grupo = gruposOrdenados.get(k);
+            // Turno e ordem seguem a posição na fila completa, como em calcularPrioridadeParaProximaAula
+            if (gruposIds == null || gruposIds.contains(grupo.getGrupoId())) {
+                GrupoAula grupoAula = new GrupoAula();
+                grupoAula.setAulaPratica(aula);
+                grupoAula.setGrupo(grupo);
+                grupoAula.setTurno(capacidade.turnoNaFila(k, totalGrupos));
+                grupoAula.setOrdemExecucao(capacidade.ordemNaFila(k, totalGrupos));
+                grupoAula.setPresente(true); // Padrão: presente
+                participacoes.add(grupoAula);
+            }
+        }
+
+        grupoAulaRepository.inserirEmLote(participacoes);
+        log.info("{} grupos alocados na aula {}", participacoes.size(), aula.getAulaId());
 
-            grupoAulaRepository.save(grupoAula);
-            
-            log.info("Grupo {} alocado no turno {} ordem {}", 
-                    grupo.getNumeroGrupo(), grupoPrioridade.getTurnoSugerido(), grupoPrioridade.getOrdemSugerida());
+        return participacoes;
+    }
+
+    private void avisarCapacidadeExcedida(Integer turmaId, CapacidadeTurma capacidade, int totalGrupos) {
+        if (capacidade.excedida(totalGrupos)) {
+            log.warn("Turma {} tem {} grupos para {} turnos de {} bancadas: {} grupos excedentes no último turno",
+                    turmaId, totalGrupos, capacidade.totalTurnos(), capacidade.bancadasPorTurno(),
+                    totalGrupos - capacidade.capacidadeTotal());
         }
     }
 
@@ -148,42 +359,92 @@ public class AulaPraticaService {
         AulaPratica aula = aulaPraticaRepository.findById(aulaId)
                 .orElseThrow(() -> new ResourceNotFoundException("Aula não encontrada: " + aulaId));
 
-        // Atualizar prioridades dos grupos com base na participação
-        List<GrupoAula> participacoes = grupoAulaRepository.findByAulaPratica_AulaId(aulaId);
-        for (GrupoAula participacao : participacoes) {
-            grupoService.atualizarPrioridadeAposAula(
-                    participacao.getGrupo().getGrupoId(),
-                    participacao.getTurno(),
-                    participacao.getPresente(),
-                    null // Sem presença anterior no concluir aula
-            );
-        }
+        // Atualizar prioridades dos grupos com base na participação, em lote
+        // Só a alocação confirmada conta: um plano provisório ainda não aconteceu
+        List<GrupoAula> participacoes = grupoAulaRepository.findConfirmadasByAulaComGrupos(aulaId);
+        grupoService.atualizarPrioridadesAposAula(aula.getTurma().getTurmaId(), participacoes);
 
         log.info("Prioridades atualizadas para {} grupos", participacoes.size());
+        outboxEventos.registrar(EventoAulaDTO.builder()
+                .tipo(EventoAulaDTO.Tipo.concluida)
+                .aulaId(aulaId)
+                .build());
         
-        return toResponseDTO(aula);
+        return toResponseDTO(aula, participacoes);
     }
 
     @Transactional
     public void marcarPresenca(Integer grupoAulaId, Boolean presente) {
         log.info("Marcando presença {} para grupoAula: {}", presente, grupoAulaId);
 
-        GrupoAula grupoAula = grupoAulaRepository.findById(grupoAulaId)
-                .orElseThrow(() -> new ResourceNotFoundException("Registro de grupo na aula não encontrado: " + grupoAulaId));
+        // UPDATE condicional: só altera (e devolve a linha) se a presença realmente mudou
+        Optional<PresencaAlteradaDTO> alterada = grupoAulaRepository.alterarPresenca(grupoAulaId, presente);
+        if (alterada.isEmpty()) {
+            GrupoAula registro = grupoAulaRepository.findById(grupoAulaId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Registro de grupo na aula não encontrado: " + grupoAulaId));
+            verificarConfirmada(registro);
+            return;
+        }
 
-        Boolean presencaAnterior = grupoAula.getPresente();
-        grupoAula.setPresente(presente);
-        grupoAulaRepository.save(grupoAula);
-        
-        // Atualizar prioridades imediatamente se houve mudança na presença
-        if (!presencaAnterior.equals(presente)) {
-            log.info("Presença alterada de {} para {}. Atualizando prioridades...", presencaAnterior, presente);
-            grupoService.atualizarPrioridadeAposAula(
-                grupoAula.getGrupo().getGrupoId(),
-                grupoAula.getTurno(),
-                presente,
-                presencaAnterior
-            );
+        // Atualizar prioridades imediatamente, já que houve mudança na presença
+        PresencaAlteradaDTO grupoAula = alterada.get();
+        log.info("Presença alterada de {} para {}. Atualizando prioridades...", !presente, presente);
+        grupoService.atualizarPrioridadeAposAula(
+            grupoAula.getGrupoId(),
+            grupoAula.getTurno(),
+            presente,
+            !presente,
+            grupoAula.getAulaId()
+        );
+        publicarPresencas(grupoAula.getAulaId(), List.of(grupoAula));
+    }
+
+    /**
+     * Grava a lista de presença inteira de uma aula em uma única transação:
+     * um UPDATE condicional para todas as participações e um único recálculo dos contadores
+     * dos grupos cuja presença mudou
+     */
+    @Transactional
+    public AulaPraticaResponseDTO marcarPresencas(Integer aulaId, List<ListaPresencaRequestDTO.PresencaDTO> presencas) {
+        log.info("Marcando lista de presença da aula {}: {} registros", aulaId, presencas.size());
+
+        AulaPratica aula = aulaPraticaRepository.findComParticipantesByAulaId(aulaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Aula não encontrada: " + aulaId));
+
+        Map<Integer, GrupoAula> participantes = aula.getGruposParticipantes().stream()
+                .collect(Collectors.toMap(GrupoAula::getGrupoAulaId, ga -> ga));
+
+        // Se o mesmo registro vier repetido, vale o último valor enviado
+        Map<Integer, Boolean> presencaPorRegistro = new LinkedHashMap<>();
+        for (ListaPresencaRequestDTO.PresencaDTO presenca : presencas) {
+            GrupoAula participante = participantes.get(presenca.getGrupoAulaId());
+            if (participante == null) {
+                throw new ResourceNotFoundException("Registro de grupo na aula não encontrado: " + presenca.getGrupoAulaId());
+            }
+            verificarConfirmada(participante);
+            presencaPorRegistro.put(presenca.getGrupoAulaId(), presenca.getPresente());
+        }
+
+        List<PresencaAlteradaDTO> alteradas = grupoAulaRepository.alterarPresencas(aulaId, presencaPorRegistro);
+        grupoService.atualizarPrioridadesAposPresencas(alteradas);
+        publicarPresencas(aulaId, alteradas);
+        log.info("Lista de presença da aula {} gravada: {} presenças alteradas", aulaId, alteradas.size());
+
+        // As participações foram carregadas antes do UPDATE: a resposta recebe os valores gravados
+        AulaPraticaResponseDTO response = toResponseDTO(aula);
+        for (AulaPraticaResponseDTO.GrupoAulaDTO grupoAula : response.getGruposParticipantes()) {
+            grupoAula.setPresente(presencaPorRegistro.getOrDefault(grupoAula.getGrupoAulaId(), grupoAula.getPresente()));
+        }
+        return response;
+    }
+
+    /**
+     * Presença só pode ser marcada na alocação confirmada: o plano provisório não altera o rodízio
+     */
+    private static void verificarConfirmada(GrupoAula participacao) {
+        if (Boolean.TRUE.equals(participacao.getProvisorio())) {
+            throw new IllegalArgumentException("Participação " + participacao.getGrupoAulaId()
+                    + " é provisória: confirme o plano da aula antes de marcar presença");
         }
     }
 
@@ -196,10 +457,53 @@ public class AulaPraticaService {
         }
         
         aulaPraticaRepository.deleteById(id);
+        outboxEventos.registrar(EventoAulaDTO.builder()
+                .tipo(EventoAulaDTO.Tipo.removida)
+                .aulaId(id)
+                .build());
+    }
+
+    private void publicarAlocacao(AulaPraticaResponseDTO aula) {
+        outboxEventos.registrar(eventoAlocacao(aula));
+    }
+
+    /**
+     * Alocação completa da aula (substitui as participações anteriores)
+     */
+    private static EventoAulaDTO eventoAlocacao(AulaPraticaResponseDTO aula) {
+        return EventoAulaDTO.builder()
+                .tipo(EventoAulaDTO.Tipo.alocacao)
+                .aulaId(aula.getAulaId())
+                .participacoes(aula.getGruposParticipantes())
+                .build();
+    }
+
+    /**
+     * Presenças alteradas: só registro, grupo e novo valor
+     */
+    private void publicarPresencas(Integer aulaId, List<PresencaAlteradaDTO> alteradas) {
+        if (alteradas.isEmpty()) {
+            return;
+        }
+        outboxEventos.registrar(EventoAulaDTO.builder()
+                .tipo(EventoAulaDTO.Tipo.presenca)
+                .aulaId(aulaId)
+                .participacoes(alteradas.stream()
+                        .map(p -> AulaPraticaResponseDTO.GrupoAulaDTO.builder()
+                                .grupoAulaId(p.getGrupoAulaId())
+                                .grupoId(p.getGrupoId())
+                                .presente(p.getPresente())
+                                .build())
+                        .collect(Collectors.toList()))
+                .build());
     }
 
     private AulaPraticaResponseDTO toResponseDTO(AulaPratica aula) {
-        List<AulaPraticaResponseDTO.GrupoAulaDTO> gruposParticipantes = aula.getGruposParticipantes().stream()
+        return toResponseDTO(aula, aula.getGruposParticipantes());
+    }
+
+    private AulaPraticaResponseDTO toResponseDTO(AulaPratica aula, List<GrupoAula> participacoes) {
+        List<AulaPraticaResponseDTO.GrupoAulaDTO> gruposParticipantes = participacoes.stream()
                 .map(ga -> AulaPraticaResponseDTO.GrupoAulaDTO.builder()
                         .grupoAulaId(ga.getGrupoAulaId())
                         .grupoId(ga.getGrupo().getGrupoId())
@@ -211,11 +515,22 @@ public class AulaPraticaService {
                         .horarioInicio(ga.getHorarioInicio())
                         .horarioFim(ga.getHorarioFim())
                         .observacoes(ga.getObservacoes())
+                        .provisorio(ga.getProvisorio())
                         .build())
                 .collect(Collectors.toList());
 
-        long primeiroTurno = gruposParticipantes.stream().filter(g -> g.getTurno() == 1).count();
-        long segundoTurno = gruposParticipantes.stream().filter(g -> g.getTurno() == 2).count();
+        int totalTurnos = 0;
+        for (AulaPraticaResponseDTO.GrupoAulaDTO g : gruposParticipantes) {
+            totalTurnos = Math.max(totalTurnos, g.getTurno());
+        }
+        int[] porTurno = new int[totalTurnos];
+        for (AulaPraticaResponseDTO.GrupoAulaDTO g : gruposParticipantes) {
+            porTurno[g.getTurno() - 1]++;
+        }
+        List<Integer> totalGruposPorTurno = new ArrayList<>(totalTurnos);
+        for (int total : porTurno) {
+            totalGruposPorTurno.add(total);
+        }
 
         return AulaPraticaResponseDTO.builder()
                 .aulaId(aula.getAulaId())
@@ -227,8 +542,9 @@ public class AulaPraticaService {
                 .observacoes(aula.getObservacoes())
 
                 .gruposParticipantes(gruposParticipantes)
-                .totalGruposPrimeiroTurno((int) primeiroTurno)
-                .totalGruposSegundoTurno((int) segundoTurno)
+                .totalGruposPrimeiroTurno(totalTurnos >= 1 ? porTurno[0] : 0)
+                .totalGruposSegundoTurno(totalTurnos >= 2 ? porTurno[1] : 0)
+                .totalGruposPorTurno(totalGruposPorTurno)
                 .createdAt(aula.getCreatedAt())
                 .updatedAt(aula.getUpdatedAt())
                 .build();
@@ -0,0 +1,115 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.TurmaResponseDTO;
+
+/**
+ * Capacidade de uma aula da turma: bancadas disponíveis por turno e quantidade máxima de turnos.
+ * Distribui a fila de prioridade entre os turnos em tempo O(1) por posição, de uma de duas formas:
+ * - turmas sem capacidade configurada (PADRAO) mantêm o layout anterior: cada turno é preenchido até as
+ *   bancadas antes do próximo (12 grupos = 8 + 4);
+ * - turmas com capacidade configurada usam o menor número de turnos que comporta todos os grupos e dividem
+ *   a fila de forma equilibrada (os turnos diferem em no máximo um grupo, com os maiores primeiro: 12 = 6 + 6).
+ * Em ambas, se os grupos não couberem em todos os turnos, os excedentes ficam no último turno.
+ */
+record CapacidadeTurma(int bancadasPorTurno, int totalTurnos, boolean equilibrada) {
+
+    static final int BANCADAS_POR_TURNO_PADRAO = 8;
+    static final int TOTAL_TURNOS_PADRAO = 2;
+
+    static final CapacidadeTurma PADRAO = new CapacidadeTurma(BANCADAS_POR_TURNO_PADRAO, TOTAL_TURNOS_PADRAO, false);
+
+    CapacidadeTurma {
+        if (bancadasPorTurno < 1 || totalTurnos < 1) {
+            throw new IllegalArgumentException("Capacidade inválida: " + totalTurnos + " turnos de "
+                    + bancadasPorTurno + " bancadas");
+        }
+    }
+
+    /**
+     * Capacidade configurada na turma, com divisão equilibrada; campos não preenchidos usam o padrão
+     * (2 turnos de 8 bancadas). Sem nenhum campo preenchido, a turma segue o layout anterior (PADRAO).
+     */
+    static CapacidadeTurma de(TurmaResponseDTO turma) {
+        if (turma.getBancadasPorTurno() == null && turma.getTurnosPorAula() == null) {
+            return PADRAO;
+        }
+        return new CapacidadeTurma(
+                turma.getBancadasPorTurno() != null ? turma.getBancadasPorTurno() : BANCADAS_POR_TURNO_PADRAO,
+                turma.getTurnosPorAula() != null ? turma.getTurnosPorAula() : TOTAL_TURNOS_PADRAO,
+                true);
+    }
+
+    int capacidadeTotal() {
+        return bancadasPorTurno * totalTurnos;
+    }
+
+    boolean excedida(int totalGrupos) {
+        return totalGrupos > capacidadeTotal();
+    }
+
+    /**
+     * Turnos efetivamente usados por uma aula com totalGrupos grupos
+     */
+    int turnosUsados(int totalGrupos) {
+        if (totalGrupos <= 0) {
+            return 0;
+        }
+        return Math.min(totalTurnos, (totalGrupos + bancadasPorTurno - 1) / bancadasPorTurno);
+    }
+
+    /**
+     * Quantidade de grupos no turno (1-based)
+     */
+    int gruposNoTurno(int turno, int totalGrupos) {
+        int usados = turnosUsados(totalGrupos);
+        if (turno < 1 || turno > usados) {
+            return 0;
+        }
+        if (preencheTurnos(totalGrupos)) {
+            return turno < usados ? bancadasPorTurno : totalGrupos - bancadasPorTurno * (usados - 1);
+        }
+        int base = totalGrupos / usados;
+        return turno <= totalGrupos % usados ? base + 1 : base;
+    }
+
+    /**
+     * Turno (1-based) do grupo na posição k (0-based) da fila de prioridade
+     */
+    int turnoNaFila(int k, int totalGrupos) {
+        if (preencheTurnos(totalGrupos)) {
+            return Math.min(k / bancadasPorTurno, totalTurnos - 1) + 1;
+        }
+        int usados = turnosUsados(totalGrupos);
+        int base = totalGrupos / usados;
+        int maiores = totalGrupos % usados;
+        int limiteMaiores = maiores * (base + 1);
+        return k < limiteMaiores
+                ? k / (base + 1) + 1
+                : maiores + (k - limiteMaiores) / base + 1;
+    }
+
+    /**
+     * Ordem de execução (1-based) dentro do turno do grupo na posição k (0-based) da fila
+     */
+    int ordemNaFila(int k, int totalGrupos) {
+        if (preencheTurnos(totalGrupos)) {
+            return k < bancadasPorTurno * (totalTurnos - 1)
+                    ? k % bancadasPorTurno + 1
+                    : k - bancadasPorTurno * (totalTurnos - 1) + 1;
+        }
+        int usados = turnosUsados(totalGrupos);
+        int base = totalGrupos / usados;
+        int maiores = totalGrupos % usados;
+        int limiteMaiores = maiores * (base + 1);
+        return k < limiteMaiores
+                ? k % (base + 1) + 1
+                : (k - limiteMaiores) % base + 1;
+    }
+
+    /**
+     * Turnos preenchidos em sequência: layout padrão ou grupos além da capacidade total
+     */
+    private boolean preencheTurnos(int totalGrupos) {
+        return !equilibrada || excedida(totalGrupos);
+    }
+}
@@ -0,0 +1,113 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.DashboardTurmaDTO;
+import com.laec.lab_service.dto.GrupoResponseDTO;
+import com.laec.lab_service.dto.PaginaAulasDTO;
+import com.laec.lab_service.dto.PrioridadeGruposDTO;
+import com.laec.lab_service.dto.TurmaResponseDTO;
+import com.laec.lab_service.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard de uma turma: anos letivos, grupos, prioridade da próxima aula e histórico de aulas
+ * são consultados em paralelo no dashboardExecutor, cada um em sua própria transação e com tempo limite,
+ * de modo que a resposta leva o tempo da seção mais lenta e não a soma de todas.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    private final TurmaService turmaService;
+    private final GrupoService grupoService;
+    private final AulaPraticaService aulaPraticaService;
+    private final ThreadPoolTaskExecutor dashboardExecutor;
+    private final Duration tempoLimite;
+
+    public DashboardService(TurmaService turmaService,
+                            GrupoService grupoService,
+                            AulaPraticaService aulaPraticaService,
+                            ThreadPoolTaskExecutor dashboardExecutor,
+                            @Value("${lab.dashboard.tempo-limite:PT2S}") Duration tempoLimite) {
+        this.turmaService = turmaService;
+        this.grupoService = grupoService;
+        this.aulaPraticaService = aulaPraticaService;
+        this.dashboardExecutor = dashboardExecutor;
+        this.tempoLimite = tempoLimite;
+    }
+
+    public DashboardTurmaDTO getDashboard(Integer turmaId) {
+        log.info("Montando dashboard da turma {}", turmaId);
+        long inicio = System.nanoTime();
+
+        // Do cache de turmas; validada antes das consultas em paralelo para responder 404 direto
+        TurmaResponseDTO turma = turmaService.buscarTurma(turmaId)
+                .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + turmaId));
+
+        Map<String, String> indisponiveis = new ConcurrentHashMap<>();
+        CompletableFuture<List<Integer>> anos = secao("anosLetivos", indisponiveis,
+                turmaService::getAnosLetivos);
+        CompletableFuture<List<GrupoResponseDTO>> grupos = secao("grupos", indisponiveis,
+                () -> grupoService.getGruposByTurma(turmaId));
+        CompletableFuture<PrioridadeGruposDTO> prioridade = secao("prioridade", indisponiveis,
+                () -> grupoService.calcularPrioridadeParaProximaAula(turmaId));
+        CompletableFuture<PaginaAulasDTO> aulas = secao("aulas", indisponiveis,
+                () -> aulaPraticaService.getHistoricoAulas(turmaId, null, null, null, null));
+
+        // Nenhum join lança exceção nem espera além do tempo limite: cada seção já trata erro e timeout
+        DashboardTurmaDTO dashboard = DashboardTurmaDTO.builder()
+                .turma(turma)
+                .anosLetivos(anos.join())
+                .grupos(grupos.join())
+                .prioridade(prioridade.join())
+                .aulas(aulas.join())
+                .secoesIndisponiveis(new TreeMap<>(indisponiveis))
+                .duracaoMs((System.nanoTime() - inicio) / 1_000_000)
+                .build();
+
+        log.info("Dashboard da turma {} montado em {} ms (seções indisponíveis: {})",
+                turmaId, dashboard.getDuracaoMs(), dashboard.getSecoesIndisponiveis().keySet());
+        return dashboard;
+    }
+
+    /**
+     * Executa a consulta de uma seção no dashboardExecutor. Em caso de erro, tempo esgotado ou executor cheio,
+     * a seção fica nula e o motivo é registrado, sem derrubar as demais.
+     * O tempo esgotado não interrompe a consulta, apenas deixa de esperá-la.
+     */
+    private <T> CompletableFuture<T> secao(String nome, Map<String, String> indisponiveis, Supplier<T> consulta) {
+        try {
+            return CompletableFuture.supplyAsync(consulta, dashboardExecutor)
+                    .orTimeout(tempoLimite.toMillis(), TimeUnit.MILLISECONDS)
+                    .exceptionally(erro -> {
+                        Throwable causa = erro instanceof CompletionException && erro.getCause() != null
+                                ? erro.getCause()
+                                : erro;
+                        String motivo = causa instanceof TimeoutException
+                                ? "Tempo limite de " + tempoLimite.toMillis() + " ms esgotado"
+                                : causa.getMessage();
+                        log.warn("Seção {} do dashboard indisponível: {}", nome, motivo);
+                        indisponiveis.put(nome, motivo != null ? motivo : causa.getClass().getSimpleName());
+                        return null;
+                    });
+        } catch (RejectedExecutionException e) {
+            log.warn("Seção {} do dashboard recusada: executor ocupado", nome);
+            indisponiveis.put(nome, "Servidor ocupado, tente novamente");
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+}
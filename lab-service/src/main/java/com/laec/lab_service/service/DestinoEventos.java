@@ -0,0 +1,18 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.EventoPublicadoDTO;
+
+import java.util.List;
+
+/**
+ * Destino externo dos eventos do outbox (fila, webhook, serviço de relatórios...).
+ * Cada bean que implementa esta interface recebe os lotes do OutboxRelay antes dos ouvintes em processo.
+ * Os eventos vêm por eventoId, que não é a ordem de commit das alterações, e um evento recusado pode ser
+ * entregue depois dos seguintes: use ocorridoEm ou o estado atual da aula quando a ordem importar.
+ * Se entregar lançar exceção, o OutboxPublicador reenvia os eventos do lote um a um a todos os destinos
+ * para isolar o recusado: implementações devem ser idempotentes por eventoId.
+ */
+public interface DestinoEventos {
+
+    void entregar(List<EventoPublicadoDTO> eventos) throws Exception;
+}
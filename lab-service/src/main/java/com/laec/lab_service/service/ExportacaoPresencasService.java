@@ -0,0 +1,114 @@
+package com.laec.lab_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.laec.lab_service.dto.LinhaPresencaDTO;
+import com.laec.lab_service.repository.AulaPraticaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação das presenças de uma turma (aulas x grupos) em CSV ou NDJSON.
+ * As linhas são lidas por cursor e escritas na resposta à medida que chegam,
+ * então a memória usada não depende da quantidade de aulas da turma.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExportacaoPresencasService {
+
+    private static final String CABECALHO_CSV = "aula_id,data_aula,numero_aula,tema,grupo_id,numero_grupo,"
+            + "nome_grupo,turno,ordem_execucao,presente,provisorio";
+
+    private final AulaPraticaRepository aulaPraticaRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Escreve as presenças da turma na saída; a transação mantém o cursor aberto até a última linha.
+     *
+     * @return quantidade de linhas exportadas
+     */
+    @Transactional(readOnly = true)
+    public long exportar(Integer turmaId, FormatoExportacao formato, OutputStream saida) throws IOException {
+        log.info("Exportando presenças da turma {} em {}", turmaId, formato);
+
+        // O Writer não é fechado aqui: a saída pertence ao container
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 16 * 1024);
+        ObjectWriter jsonWriter = objectMapper.writerFor(LinhaPresencaDTO.class);
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write('\n');
+        }
+
+        long linhas = 0;
+        try (Stream<LinhaPresencaDTO> presencas = aulaPraticaRepository.streamPresencasByTurma(turmaId)) {
+            Iterator<LinhaPresencaDTO> iterator = presencas.iterator();
+            while (iterator.hasNext()) {
+                LinhaPresencaDTO linha = iterator.next();
+                if (formato == FormatoExportacao.CSV) {
+                    escreverCsv(writer, linha);
+                } else {
+                    writer.write(jsonWriter.writeValueAsString(linha));
+                }
+                writer.write('\n');
+                linhas++;
+            }
+        }
+        writer.flush();
+
+        log.info("Exportação da turma {} concluída: {} linhas", turmaId, linhas);
+        return linhas;
+    }
+
+    private static void escreverCsv(Writer writer, LinhaPresencaDTO linha) throws IOException {
+        writer.write(String.valueOf(linha.getAulaId()));
+        writer.write(',');
+        writer.write(linha.getDataAula().toString());
+        writer.write(',');
+        writer.write(valor(linha.getNumeroAula()));
+        writer.write(',');
+        writer.write(texto(linha.getTema()));
+        writer.write(',');
+        writer.write(valor(linha.getGrupoId()));
+        writer.write(',');
+        writer.write(valor(linha.getNumeroGrupo()));
+        writer.write(',');
+        writer.write(texto(linha.getNomeGrupo()));
+        writer.write(',');
+        writer.write(valor(linha.getTurno()));
+        writer.write(',');
+        writer.write(valor(linha.getOrdemExecucao()));
+        writer.write(',');
+        writer.write(valor(linha.getPresente()));
+        writer.write(',');
+        writer.write(valor(linha.getProvisorio()));
+    }
+
+    private static String valor(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    /**
+     * Campo de texto do CSV (RFC 4180): entre aspas quando contém separador, aspas ou quebra de linha
+     */
+    private static String texto(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,38 @@
+package com.laec.lab_service.service;
+
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formatos da exportação de presenças (GET /api/aulas/turma/{id}/export?format=)
+ */
+public enum FormatoExportacao {
+    CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extensao;
+
+    FormatoExportacao(MediaType mediaType, String extensao) {
+        this.mediaType = mediaType;
+        this.extensao = extensao;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    public static FormatoExportacao de(String formato) {
+        for (FormatoExportacao valor : values()) {
+            if (valor.extensao.equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação inválido: " + formato + " (use csv ou ndjson)");
+    }
+}
@@ -0,0 +1,78 @@
+package com.laec.lab_service.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Controle de concorrência entre escritas e cargas dos caches em memória (TurmaCache, RodizioTurmaCache e
+ * AnosLetivosAgregado).
+ * Cada escrita incrementa a geração ao ser registrada e de novo ao terminar; o resultado de uma consulta ao banco
+ * só é guardado se a geração não mudou durante a consulta e se nenhuma escrita estava pendente quando ela começou,
+ * pois a consulta poderia enxergar o commit e depois receber a mesma alteração de aposCommit.
+ */
+final class GeracaoEscritas {
+
+    // Marca de uma carga iniciada com escritas pendentes: nunca é guardada
+    private static final long SEM_MARCA = -1;
+
+    private final AtomicLong geracao = new AtomicLong();
+    private final AtomicInteger pendentes = new AtomicInteger();
+
+    /**
+     * Marca tomada antes de consultar o banco, a ser conferida com inalterada() antes de guardar o resultado
+     */
+    long marcar() {
+        long marca = geracao.get();
+        return pendentes.get() == 0 ? marca : SEM_MARCA;
+    }
+
+    boolean inalterada(long marca) {
+        return marca != SEM_MARCA && geracao.get() == marca;
+    }
+
+    /**
+     * Guarda o valor carregado se nenhuma escrita ocorreu desde a marca
+     */
+    <K, V> void guardar(Map<K, V> mapa, K chave, V valor, long marca) {
+        if (inalterada(marca)) {
+            mapa.putIfAbsent(chave, valor);
+            // Uma escrita pode ter sido confirmada entre a verificação e a inserção
+            if (!inalterada(marca)) {
+                mapa.remove(chave, valor);
+            }
+        }
+    }
+
+    /**
+     * Executa a ação após o commit da transação atual (ou imediatamente, fora de transação).
+     * Em rollback a ação é descartada.
+     */
+    void aposCommit(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            geracao.incrementAndGet();
+            acao.run();
+            geracao.incrementAndGet();
+            return;
+        }
+
+        pendentes.incrementAndGet();
+        geracao.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        acao.run();
+                    }
+                } finally {
+                    pendentes.decrementAndGet();
+                    geracao.incrementAndGet();
+                }
+            }
+        });
+    }
+}
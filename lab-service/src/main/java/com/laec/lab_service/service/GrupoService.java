@@ -1,22 +1,37 @@
 package com.laec.lab_service.service;
 
+import com.laec.lab_service.dto.ContadoresRodizio;
+import com.laec.lab_service.dto.EstatisticaGrupoDTO;
+import com.laec.lab_service.dto.EstatisticasPresencaDTO;
+import com.laec.lab_service.dto.EventoRodizioDTO;
 import com.laec.lab_service.dto.GrupoRequestDTO;
 import com.laec.lab_service.dto.GrupoResponseDTO;
+import com.laec.lab_service.dto.PresencaAlteradaDTO;
 import com.laec.lab_service.dto.PrioridadeGruposDTO;
+import com.laec.lab_service.dto.ReprocessamentoContadoresDTO;
+import com.laec.lab_service.dto.RodizioAplicadoDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
+import com.laec.lab_service.entity.EventoGrupo;
 import com.laec.lab_service.entity.Grupo;
+import com.laec.lab_service.entity.GrupoAula;
 import com.laec.lab_service.entity.Turma;
 import com.laec.lab_service.exception.DuplicateResourceException;
 import com.laec.lab_service.exception.ResourceNotFoundException;
+import com.laec.lab_service.repository.EventoGrupoRepository;
 import com.laec.lab_service.repository.GrupoRepository;
-import com.laec.lab_service.repository.TurmaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -24,9 +39,13 @@ import java.util.stream.Collectors;
 public class GrupoService {
 
     private final GrupoRepository grupoRepository;
-    private final TurmaRepository turmaRepository;
+    private final TurmaService turmaService;
+    private final EventoGrupoRepository eventoGrupoRepository;
+    private final RodizioTurmaCache rodizioTurmaCache;
 
-    private static final int MAX_GRUPOS_POR_TURNO = 8;
+    // Limites usados quando o período das estatísticas não é informado
+    private static final LocalDate DATA_MINIMA = LocalDate.of(1900, 1, 1);
+    private static final LocalDate DATA_MAXIMA = LocalDate.of(9999, 12, 31);
 
     @Transactional(readOnly = true)
     public List<GrupoResponseDTO> getAllGrupos() {
@@ -44,6 +63,15 @@ public class GrupoService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Versão da lista de grupos da turma (GET condicional): uma consulta agregada, sem carregar os grupos.
+     * Inclui a turma, cujos dados vão em cada grupo.
+     */
+    @Transactional(readOnly = true)
+    public VersaoColecaoDTO getVersaoGruposByTurma(Integer turmaId) {
+        return grupoRepository.findVersaoByTurma(turmaId).com(turmaService.getVersao(turmaId));
+    }
+
     @Transactional(readOnly = true)
     public GrupoResponseDTO getGrupoById(Integer id) {
         log.info("Buscando grupo: {}", id);
@@ -56,8 +84,7 @@ public class GrupoService {
     public GrupoResponseDTO criarGrupo(GrupoRequestDTO request) {
         log.info("Criando grupo: {}", request);
 
-        Turma turma = turmaRepository.findById(request.getTurmaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + request.getTurmaId()));
+        Turma turma = turmaService.getReferencia(request.getTurmaId());
 
         if (grupoRepository.existsByTurma_TurmaIdAndNumeroGrupo(request.getTurmaId(), request.getNumeroGrupo())) {
             throw new DuplicateResourceException("Já existe grupo com número " + request.getNumeroGrupo() + " nesta turma");
@@ -75,6 +102,7 @@ public class GrupoService {
         grupo.setAtivo(true);
 
         Grupo saved = grupoRepository.save(grupo);
+        rodizioTurmaCache.atualizarGrupo(saved);
         log.info("Grupo criado: {}", saved.getGrupoId());
 
         return toResponseDTO(saved);
@@ -88,8 +116,7 @@ public class GrupoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo não encontrado: " + id));
 
         // Verificar se a turma existe
-        Turma turma = turmaRepository.findById(request.getTurmaId())
-                .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada: " + request.getTurmaId()));
+        Turma turma = turmaService.getReferencia(request.getTurmaId());
 
         // Verificar duplicação de número de grupo (exceto o próprio grupo)
         if (!grupo.getNumeroGrupo().equals(request.getNumeroGrupo()) &&
@@ -97,6 +124,10 @@ public class GrupoService {
             throw new DuplicateResourceException("Já existe grupo com número " + request.getNumeroGrupo() + " nesta turma");
         }
 
+        // Número e turma podem mudar: as duas turmas envolvidas voltam a ser carregadas do banco
+        rodizioTurmaCache.invalidar(grupo.getTurma().getTurmaId());
+        rodizioTurmaCache.invalidar(turma.getTurmaId());
+
         grupo.setTurma(turma);
         grupo.setNumeroGrupo(request.getNumeroGrupo());
         grupo.setNomeGrupo(request.getNomeGrupo());
@@ -116,6 +147,7 @@ public class GrupoService {
 
         grupo.setAtivo(ativo);
         Grupo updated = grupoRepository.save(grupo);
+        rodizioTurmaCache.atualizarGrupo(updated);
         log.info("Status do grupo {} alterado para: {}", id, ativo);
 
         return toResponseDTO(updated);
@@ -124,146 +156,246 @@ public class GrupoService {
     @Transactional
     public void deletarGrupo(Integer id) {
         log.info("Deletando grupo: {}", id);
-        if (!grupoRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Grupo não encontrado: " + id);
-        }
-        grupoRepository.deleteById(id);
+        Grupo grupo = grupoRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Grupo não encontrado: " + id));
+        grupoRepository.delete(grupo);
+        rodizioTurmaCache.removerGrupo(grupo.getTurma().getTurmaId(), id);
     }
 
     /**
      * Calcula e retorna a ordem de prioridade dos grupos para a próxima aula
      * Usa sistema de rodízio puro: quem foi último vira primeiro
+     * O estado vem do RodizioTurmaCache; o banco só é consultado quando a turma não está em cache
      */
-    @Transactional(readOnly = true)
     public PrioridadeGruposDTO calcularPrioridadeParaProximaAula(Integer turmaId) {
         log.info("Calculando prioridade para turma: {}", turmaId);
+        return rodizioTurmaCache.getPrioridade(turmaId, capacidadeDaTurma(turmaId),
+                () -> grupoRepository.findByTurmaOrderByPrioridade(turmaId));
+    }
 
-        List<Grupo> grupos = grupoRepository.findByTurmaOrderByPrioridade(turmaId);
-        
-        if (grupos.isEmpty()) {
-            return PrioridadeGruposDTO.builder()
-                    .turmaId(turmaId)
-                    .gruposOrdenados(new ArrayList<>())
-                    .explicacao("Nenhum grupo cadastrado para esta turma")
-                    .build();
+    /**
+     * Estatísticas de presença dos grupos da turma, opcionalmente restritas a um período de aulas.
+     * Uma única consulta agregada, independente da quantidade de grupos e aulas.
+     */
+    @Transactional(readOnly = true)
+    public EstatisticasPresencaDTO getEstatisticasPresenca(Integer turmaId, LocalDate dataInicio, LocalDate dataFim) {
+        log.info("Calculando estatísticas de presença da turma {} - período: {} a {}", turmaId, dataInicio, dataFim);
+        if (turmaService.buscarTurma(turmaId).isEmpty()) {
+            throw new ResourceNotFoundException("Turma não encontrada: " + turmaId);
+        }
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data inicial posterior à data final: " + dataInicio + " > " + dataFim);
         }
 
-        List<PrioridadeGruposDTO.GrupoComPrioridade> gruposOrdenados = new ArrayList<>();
-        int turno = 1;
-        int ordem = 1;
+        List<EstatisticaGrupoDTO> grupos = grupoRepository.findEstatisticasPresencaByTurma(turmaId,
+                dataInicio != null ? dataInicio : DATA_MINIMA, dataFim != null ? dataFim : DATA_MAXIMA);
 
-        for (Grupo grupo : grupos) {
-            String motivo = String.format("1º turno: %dx | 2º turno: %dx", 
-                grupo.getTotalPrimeiroTurno(), 
-                grupo.getTotalSegundoTurno());
-
-            gruposOrdenados.add(PrioridadeGruposDTO.GrupoComPrioridade.builder()
-                    .grupoId(grupo.getGrupoId())
-                    .numeroGrupo(grupo.getNumeroGrupo())
-                    .nomeGrupo(grupo.getNomeGrupo())
-                    .prioridadeAtual(grupo.getPrioridadeAtual())
-                    .totalPrimeiroTurno(grupo.getTotalPrimeiroTurno())
-                    .totalSegundoTurno(grupo.getTotalSegundoTurno())
-                    .turnoSugerido(turno)
-                    .ordemSugerida(ordem)
-                    .motivoPrioridade(motivo)
-                    .build());
-
-            ordem++;
-            if (ordem > MAX_GRUPOS_POR_TURNO) {
-                turno = 2;
-                ordem = 1;
-            }
+        long presencas = 0;
+        long faltas = 0;
+        for (EstatisticaGrupoDTO grupo : grupos) {
+            presencas += grupo.getPresencas();
+            faltas += grupo.getFaltas();
         }
 
-        String explicacao = gerarExplicacaoPrioridade(grupos.size());
-
-        return PrioridadeGruposDTO.builder()
+        return EstatisticasPresencaDTO.builder()
                 .turmaId(turmaId)
-                .gruposOrdenados(gruposOrdenados)
-                .explicacao(explicacao)
+                .dataInicio(dataInicio)
+                .dataFim(dataFim)
+                .totalPresencas(presencas)
+                .totalFaltas(faltas)
+                .taxaPresenca(EstatisticaGrupoDTO.taxa(presencas, faltas))
+                .grupos(grupos)
                 .build();
     }
 
+    /**
+     * Capacidade das aulas da turma (bancadas por turno e turnos por aula), lida do cache de turmas.
+     * Turma inexistente usa o padrão; quem precisa validar a turma já o faz antes.
+     */
+    CapacidadeTurma capacidadeDaTurma(Integer turmaId) {
+        return turmaService.buscarTurma(turmaId)
+                .map(CapacidadeTurma::de)
+                .orElse(CapacidadeTurma.PADRAO);
+    }
+
     /**
      * Atualiza a prioridade de um grupo após uma aula
      * Sistema de rodízio puro: inverte as posições (último vira primeiro)
      * Incrementa contadores de participação por turno
+     * A posição e os contadores são calculados no banco em um único UPDATE, sem carregar o grupo,
+     * para que marcações simultâneas na mesma turma não percam atualizações
      */
     @Transactional
-    public void atualizarPrioridadeAposAula(Integer grupoId, Integer turno, Boolean presente, Boolean presencaAnterior) {
-        Grupo grupo = grupoRepository.findById(grupoId)
+    public void atualizarPrioridadeAposAula(Integer grupoId, Integer turno, Boolean presente, Boolean presencaAnterior,
+                                            Integer aulaId) {
+        RodizioAplicadoDTO aplicado = grupoRepository.aplicarParticipacao(grupoId, turno, presente, presencaAnterior)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo não encontrado: " + grupoId));
+        ContadoresRodizio contadores = aplicado.getContadores();
 
-        // Buscar total de grupos ativos da turma para calcular nova posição
-        Long totalGrupos = grupoRepository.countAtivosByTurma(grupo.getTurma().getTurmaId());
-        
-        // Reverter contadores do estado anterior se necessário
-        if (presencaAnterior != null && presencaAnterior != presente) {
-            if (presencaAnterior) {
-                // Era presente, agora é falta - decrementar contador do turno
-                if (turno == 1 && grupo.getTotalPrimeiroTurno() > 0) {
-                    grupo.setTotalPrimeiroTurno(grupo.getTotalPrimeiroTurno() - 1);
-                } else if (turno == 2 && grupo.getTotalSegundoTurno() > 0) {
-                    grupo.setTotalSegundoTurno(grupo.getTotalSegundoTurno() - 1);
-                }
-            } else {
-                // Era falta, agora é presente - decrementar total de faltas
-                if (grupo.getTotalFaltas() > 0) {
-                    grupo.setTotalFaltas(grupo.getTotalFaltas() - 1);
-                }
-            }
-        }
-        
         if (!presente) {
-            // Faltou: vai para última posição (posição 0 indica faltante, vai pro final da fila)
-            grupo.setUltimaPosicao(0);
-            grupo.setTotalFaltas(grupo.getTotalFaltas() + 1);
             log.info("Grupo {} faltou. Vai para posição 0 (final da fila). Total faltas: {}", 
-                grupoId, grupo.getTotalFaltas());
+                grupoId, contadores.getTotalFaltas());
         } else {
-            // Sistema de rodízio: inverte posição
-            // Se estava na posição X de totalGrupos, vai para posição (totalGrupos - X + 1)
-            // Exemplo: Total 12 grupos
-            //   Posição 12 (último) -> vira posição 1 (primeiro)
-            //   Posição 11 -> vira posição 2
-            //   Posição 1 (primeiro) -> vira posição 12 (último)
-            
-            Integer posicaoAtual = grupo.getUltimaPosicao() != null ? grupo.getUltimaPosicao() : totalGrupos.intValue();
-            
-            // Se estava em posição 0 (faltante anterior), coloca no final
-            if (posicaoAtual == 0) {
-                posicaoAtual = totalGrupos.intValue();
-            }
-            
-            Integer novaPosicao = totalGrupos.intValue() - posicaoAtual + 1;
-            grupo.setUltimaPosicao(novaPosicao);
-            
-            // Incrementa contador do turno
-            if (turno == 1) {
-                grupo.setTotalPrimeiroTurno(grupo.getTotalPrimeiroTurno() + 1);
-            } else {
-                grupo.setTotalSegundoTurno(grupo.getTotalSegundoTurno() + 1);
+            log.info("Grupo {} presente no {}º turno. Nova posição: {}. Contadores: 1º={}, 2º={}", 
+                grupoId, turno, contadores.getUltimaPosicao(),
+                contadores.getTotalPrimeiroTurno(), contadores.getTotalSegundoTurno());
+        }
+
+        rodizioTurmaCache.atualizarContadores(aplicado.getTurmaId(), List.of(contadores));
+
+        EventoGrupo evento = new EventoGrupo();
+        evento.setTurmaId(aplicado.getTurmaId());
+        evento.setGrupoId(grupoId);
+        evento.setAulaId(aulaId);
+        evento.setTipo(presencaAnterior != null ? EventoGrupo.Tipo.PRESENCA_ALTERADA : EventoGrupo.Tipo.AULA_CONCLUIDA);
+        evento.setTurno(turno);
+        evento.setPresente(presente);
+        evento.setPresencaAnterior(presencaAnterior);
+        evento.setTotalGrupos(aplicado.getTotalGrupos());
+        eventoGrupoRepository.save(evento);
+    }
+
+    /**
+     * Atualiza as prioridades de todos os participantes de uma aula de uma só vez.
+     * Todos os grupos são recalculados no mesmo UPDATE atômico de atualizarPrioridadeAposAula, a partir
+     * do valor atual de cada linha (bloqueadas em ordem de ID): uma marcação de presença concorrente
+     * não é sobrescrita. Os eventos são gravados em um único batch.
+     * As participações devem vir com o grupo já carregado, uma por grupo.
+     */
+    @Transactional
+    public void atualizarPrioridadesAposAula(Integer turmaId, List<GrupoAula> participacoes) {
+        if (participacoes.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, RodizioAplicadoDTO> aplicadosPorGrupo = grupoRepository.aplicarConclusao(participacoes).stream()
+                .collect(Collectors.toMap(a -> a.getContadores().getGrupoId(), a -> a));
+
+        List<EventoGrupo> eventos = new ArrayList<>(participacoes.size());
+        for (GrupoAula participacao : participacoes) {
+            RodizioAplicadoDTO aplicado = aplicadosPorGrupo.get(participacao.getGrupo().getGrupoId());
+            if (aplicado == null) {
+                // Grupo removido depois que as participações foram lidas
+                continue;
             }
-            
-            log.info("Grupo {} presente no {}º turno. Posição {} -> {}. Contadores: 1º={}, 2º={}", 
-                grupoId, turno, posicaoAtual, novaPosicao,
-                grupo.getTotalPrimeiroTurno(), grupo.getTotalSegundoTurno());
+            EventoGrupo evento = new EventoGrupo();
+            evento.setTurmaId(turmaId);
+            evento.setGrupoId(participacao.getGrupo().getGrupoId());
+            evento.setAulaId(participacao.getAulaPratica().getAulaId());
+            evento.setTipo(EventoGrupo.Tipo.AULA_CONCLUIDA);
+            evento.setTurno(participacao.getTurno());
+            evento.setPresente(MotorRodizio.presente(participacao.getPresente()));
+            evento.setTotalGrupos(aplicado.getTotalGrupos());
+            eventos.add(evento);
         }
+        eventoGrupoRepository.registrarEmLote(eventos);
 
-        grupoRepository.save(grupo);
+        List<ContadoresRodizio> contadores = aplicadosPorGrupo.values().stream()
+                .map(RodizioAplicadoDTO::getContadores)
+                .collect(Collectors.toList());
+        rodizioTurmaCache.atualizarContadores(turmaId, contadores);
+        log.info("Prioridades de {} grupos da turma {} atualizadas após a aula", contadores.size(), turmaId);
     }
 
-    private String gerarExplicacaoPrioridade(int totalGrupos) {
-        if (totalGrupos <= MAX_GRUPOS_POR_TURNO) {
-            return "Todos os grupos cabem no primeiro turno (até " + MAX_GRUPOS_POR_TURNO + " grupos).";
-        } else {
-            int primeiroTurno = Math.min(totalGrupos, MAX_GRUPOS_POR_TURNO);
-            int segundoTurno = totalGrupos - primeiroTurno;
-            return String.format("Aula dividida em 2 turnos: 1º turno com %d grupos, 2º turno com %d grupos. " +
-                    "Sistema de rodízio: quem foi no 2º turno terá prioridade na próxima aula.",
-                    primeiroTurno, segundoTurno);
+    /**
+     * Atualiza as prioridades após a gravação de uma lista de presença.
+     * Todos os grupos cuja presença mudou são recalculados no mesmo UPDATE atômico usado em
+     * atualizarPrioridadeAposAula, e os eventos são gravados em um único batch.
+     */
+    @Transactional
+    public void atualizarPrioridadesAposPresencas(List<PresencaAlteradaDTO> alteradas) {
+        if (alteradas.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, RodizioAplicadoDTO> aplicadosPorGrupo = grupoRepository.aplicarPresencasAlteradas(alteradas).stream()
+                .collect(Collectors.toMap(a -> a.getContadores().getGrupoId(), a -> a));
+
+        List<EventoGrupo> eventos = new ArrayList<>(alteradas.size());
+        for (PresencaAlteradaDTO alterada : alteradas) {
+            RodizioAplicadoDTO aplicado = aplicadosPorGrupo.get(alterada.getGrupoId());
+            EventoGrupo evento = new EventoGrupo();
+            evento.setTurmaId(aplicado.getTurmaId());
+            evento.setGrupoId(alterada.getGrupoId());
+            evento.setAulaId(alterada.getAulaId());
+            evento.setTipo(EventoGrupo.Tipo.PRESENCA_ALTERADA);
+            evento.setTurno(alterada.getTurno());
+            evento.setPresente(alterada.getPresente());
+            evento.setPresencaAnterior(!alterada.getPresente());
+            evento.setTotalGrupos(aplicado.getTotalGrupos());
+            eventos.add(evento);
+        }
+        eventoGrupoRepository.registrarEmLote(eventos);
+
+        aplicadosPorGrupo.values().stream()
+                .collect(Collectors.groupingBy(RodizioAplicadoDTO::getTurmaId,
+                        Collectors.mapping(RodizioAplicadoDTO::getContadores, Collectors.toList())))
+                .forEach(rodizioTurmaCache::atualizarContadores);
+
+        log.info("Prioridades de {} grupos atualizadas após a lista de presença", aplicadosPorGrupo.size());
+    }
+
+    /**
+     * Reconstrói os contadores de rodízio de todos os grupos da turma a partir do log de eventos.
+     * Os eventos são lidos em uma única passada por cursor e o resultado é gravado em um único batch de UPDATE,
+     * corrigindo qualquer divergência entre a tabela grupos e o histórico.
+     */
+    @Transactional
+    public ReprocessamentoContadoresDTO reprocessarContadores(Integer turmaId) {
+        log.info("Reprocessando contadores da turma {} a partir dos eventos", turmaId);
+
+        if (turmaService.buscarTurma(turmaId).isEmpty()) {
+            throw new ResourceNotFoundException("Turma não encontrada: " + turmaId);
+        }
+
+        List<Grupo> grupos = grupoRepository.findByTurma_TurmaId(turmaId);
+        MotorRodizio motor = new MotorRodizio(grupos.size());
+        Map<Integer, Integer> indicePorGrupo = new HashMap<>(grupos.size() * 2);
+        for (Grupo grupo : grupos) {
+            // Sem eventos, o grupo fica no estado de um grupo recém-criado
+            indicePorGrupo.put(grupo.getGrupoId(),
+                    motor.adicionar(grupo.getGrupoId(), grupo.getNumeroGrupo(), MotorRodizio.SEM_POSICAO, 0, 0, 0));
+        }
+
+        long eventosProcessados = 0;
+        try (Stream<EventoRodizioDTO> eventos = eventoGrupoRepository.streamByTurmaId(turmaId)) {
+            Iterator<EventoRodizioDTO> iterator = eventos.iterator();
+            while (iterator.hasNext()) {
+                EventoRodizioDTO evento = iterator.next();
+                int indice = indicePorGrupo.get(evento.getGrupoId());
+                if (evento.getTipo() == EventoGrupo.Tipo.SALDO_INICIAL) {
+                    motor.definir(indice, MotorRodizio.posicao(evento.getUltimaPosicao()), evento.getTotalFaltas(),
+                            evento.getTotalPrimeiroTurno(), evento.getTotalSegundoTurno());
+                } else {
+                    motor.aplicar(indice, evento.getTurno(), evento.getPresente(),
+                            MotorRodizio.anterior(evento.getPresencaAnterior()), evento.getTotalGrupos());
+                }
+                eventosProcessados++;
+            }
         }
+
+        List<ContadoresRodizio> estados = new ArrayList<>(grupos.size());
+        int corrigidos = 0;
+        for (int i = 0; i < grupos.size(); i++) {
+            ContadoresRodizio estado = motor.contadores(i);
+            if (!ContadoresRodizio.de(grupos.get(i)).equals(estado)) {
+                corrigidos++;
+            }
+            estados.add(estado);
+        }
+
+        grupoRepository.atualizarContadoresEmLote(estados);
+        rodizioTurmaCache.atualizarContadores(turmaId, estados);
+
+        log.info("Contadores da turma {} reprocessados: {} eventos, {} grupos, {} corrigidos",
+                turmaId, eventosProcessados, grupos.size(), corrigidos);
+
+        return ReprocessamentoContadoresDTO.builder()
+                .turmaId(turmaId)
+                .eventosProcessados(eventosProcessados)
+                .gruposAtualizados(grupos.size())
+                .gruposCorrigidos(corrigidos)
+                .build();
     }
 
     private GrupoResponseDTO toResponseDTO(Grupo grupo) {
@@ -0,0 +1,243 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.ContadoresRodizio;
+import com.laec.lab_service.entity.Grupo;
+
+import java.util.Arrays;
+
+/**
+ * Núcleo do rodízio puro sobre arrays primitivos (ids, posições e contadores): entidades só são lidas
+ * ao preencher o motor e DTOs só são criados quando o chamador pede o resultado.
+ * Concentra as regras aplicadas após uma aula e a ordem de prioridade da fila (a divisão da fila em turnos
+ * fica em CapacidadeTurma), para que alocação, conclusão, replay de eventos, plano e cache usem o mesmo cálculo.
+ * Uma instância pode ser reaproveitada com limpar(); depois que os arrays atingem a capacidade necessária,
+ * nenhuma operação aloca memória. Não é thread-safe.
+ */
+final class MotorRodizio {
+
+    // ultimaPosicao null: grupo que ainda não participou de nenhuma aula
+    static final int SEM_POSICAO = -1;
+
+    // Presença anterior a reverter em aplicar()
+    static final int SEM_ANTERIOR = -1;
+    static final int ANTERIOR_FALTA = 0;
+    static final int ANTERIOR_PRESENTE = 1;
+
+    // Limites do empacotamento da chave de ordenação (posição, número e índice em 21 bits cada)
+    private static final int BITS = 21;
+    private static final long MASCARA = (1L << BITS) - 1;
+
+    private int tamanho;
+    private int[] grupoIds;
+    private int[] numeros;
+    private int[] posicoes;
+    private int[] faltas;
+    private int[] primeiroTurno;
+    private int[] segundoTurno;
+    private int[] fila;
+    private long[] chaves;
+
+    MotorRodizio(int capacidade) {
+        alocar(Math.max(capacidade, 1));
+    }
+
+    void limpar() {
+        tamanho = 0;
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Adiciona um grupo e retorna seu índice no motor
+     */
+    int adicionar(int grupoId, int numeroGrupo, int posicao, int totalFaltas, int totalPrimeiroTurno,
+                  int totalSegundoTurno) {
+        if (tamanho == grupoIds.length) {
+            crescer();
+        }
+        int i = tamanho++;
+        grupoIds[i] = grupoId;
+        numeros[i] = numeroGrupo;
+        posicoes[i] = posicao;
+        faltas[i] = totalFaltas;
+        primeiroTurno[i] = totalPrimeiroTurno;
+        segundoTurno[i] = totalSegundoTurno;
+        fila[i] = i;
+        return i;
+    }
+
+    /**
+     * Adiciona o estado atual de um grupo e retorna seu índice no motor
+     */
+    int adicionar(Grupo grupo) {
+        return adicionar(grupo.getGrupoId(), grupo.getNumeroGrupo(), posicao(grupo.getUltimaPosicao()),
+                grupo.getTotalFaltas(), grupo.getTotalPrimeiroTurno(), grupo.getTotalSegundoTurno());
+    }
+
+    /**
+     * Aplica a participação do grupo i em uma aula.
+     *
+     * @param presencaAnterior SEM_ANTERIOR, ANTERIOR_FALTA ou ANTERIOR_PRESENTE (estado a reverter)
+     * @param totalGrupos      total de grupos ativos da turma
+     */
+    void aplicar(int i, int turno, boolean presente, int presencaAnterior, int totalGrupos) {
+        // Reverter contadores do estado anterior se necessário
+        if (presencaAnterior != SEM_ANTERIOR && (presencaAnterior == ANTERIOR_PRESENTE) != presente) {
+            if (presencaAnterior == ANTERIOR_PRESENTE) {
+                // Era presente, agora é falta - decrementar contador do turno
+                if (turno == 1) {
+                    if (primeiroTurno[i] > 0) {
+                        primeiroTurno[i]--;
+                    }
+                } else if (segundoTurno[i] > 0) {
+                    segundoTurno[i]--;
+                }
+            } else if (faltas[i] > 0) {
+                // Era falta, agora é presente - decrementar total de faltas
+                faltas[i]--;
+            }
+        }
+
+        if (!presente) {
+            // Faltou: vai para última posição (posição 0 indica faltante, vai pro final da fila)
+            posicoes[i] = 0;
+            faltas[i]++;
+        } else {
+            posicoes[i] = novaPosicao(posicoes[i], totalGrupos);
+
+            // Incrementa contador do turno (do 2º turno em diante contam como segundo turno)
+            if (turno == 1) {
+                primeiroTurno[i]++;
+            } else {
+                segundoTurno[i]++;
+            }
+        }
+    }
+
+    /**
+     * Sistema de rodízio: inverte posição.
+     * Se estava na posição X de totalGrupos, vai para posição (totalGrupos - X + 1)
+     * Exemplo: Total 12 grupos
+     *   Posição 12 (último) -> vira posição 1 (primeiro)
+     *   Posição 11 -> vira posição 2
+     *   Posição 1 (primeiro) -> vira posição 12 (último)
+     * Sem posição (grupo novo) ou posição 0 (faltante anterior) contam como final da fila.
+     */
+    static int novaPosicao(int posicao, int totalGrupos) {
+        int posicaoAtual = posicao == SEM_POSICAO || posicao == 0 ? totalGrupos : posicao;
+        return totalGrupos - posicaoAtual + 1;
+    }
+
+    /**
+     * Ordena a fila por prioridade: ultimaPosicao DESC com grupos sem posição primeiro, depois numeroGrupo ASC
+     * (mesma ordem de GrupoRepository.findByTurmaOrderByPrioridade no PostgreSQL).
+     * Cada grupo vira uma chave long (posição invertida, número, índice), ordenada sem comparator nem boxing.
+     */
+    void ordenar() {
+        for (int i = 0; i < tamanho; i++) {
+            long chavePosicao = posicoes[i] == SEM_POSICAO ? 0 : MASCARA - posicoes[i];
+            chaves[i] = chavePosicao << (2 * BITS) | (long) numeros[i] << BITS | i;
+        }
+        Arrays.sort(chaves, 0, tamanho);
+        for (int k = 0; k < tamanho; k++) {
+            fila[k] = (int) (chaves[k] & MASCARA);
+        }
+    }
+
+    /**
+     * Índice do grupo que ocupa a posição k (0-based) da fila após ordenar()
+     */
+    int naFila(int k) {
+        return fila[k];
+    }
+
+    int grupoId(int i) {
+        return grupoIds[i];
+    }
+
+    int numeroGrupo(int i) {
+        return numeros[i];
+    }
+
+    int posicao(int i) {
+        return posicoes[i];
+    }
+
+    int totalFaltas(int i) {
+        return faltas[i];
+    }
+
+    int totalPrimeiroTurno(int i) {
+        return primeiroTurno[i];
+    }
+
+    int totalSegundoTurno(int i) {
+        return segundoTurno[i];
+    }
+
+    /**
+     * Define o estado completo do grupo i (ex.: saldo inicial no replay de eventos)
+     */
+    void definir(int i, int posicao, int totalFaltas, int totalPrimeiroTurno, int totalSegundoTurno) {
+        posicoes[i] = posicao;
+        faltas[i] = totalFaltas;
+        primeiroTurno[i] = totalPrimeiroTurno;
+        segundoTurno[i] = totalSegundoTurno;
+    }
+
+    /**
+     * Estado do grupo i como DTO, para gravação em lote ou atualização do cache
+     */
+    ContadoresRodizio contadores(int i) {
+        return new ContadoresRodizio(grupoIds[i], ultimaPosicao(posicoes[i]),
+                faltas[i], primeiroTurno[i], segundoTurno[i]);
+    }
+
+    static int posicao(Integer ultimaPosicao) {
+        return ultimaPosicao != null ? ultimaPosicao : SEM_POSICAO;
+    }
+
+    static Integer ultimaPosicao(int posicao) {
+        return posicao == SEM_POSICAO ? null : posicao;
+    }
+
+    /**
+     * Presença de uma participação na conclusão da aula. Nula (nunca marcada) conta como presente:
+     * é o padrão da coluna grupos_aulas.presente, e os UPDATEs em lote tratam nulo da mesma forma
+     */
+    static boolean presente(Boolean presenca) {
+        return presenca == null || presenca;
+    }
+
+    static int anterior(Boolean presencaAnterior) {
+        if (presencaAnterior == null) {
+            return SEM_ANTERIOR;
+        }
+        return presencaAnterior ? ANTERIOR_PRESENTE : ANTERIOR_FALTA;
+    }
+
+    private void alocar(int capacidade) {
+        grupoIds = new int[capacidade];
+        numeros = new int[capacidade];
+        posicoes = new int[capacidade];
+        faltas = new int[capacidade];
+        primeiroTurno = new int[capacidade];
+        segundoTurno = new int[capacidade];
+        fila = new int[capacidade];
+        chaves = new long[capacidade];
+    }
+
+    private void crescer() {
+        int capacidade = grupoIds.length * 2;
+        grupoIds = Arrays.copyOf(grupoIds, capacidade);
+        numeros = Arrays.copyOf(numeros, capacidade);
+        posicoes = Arrays.copyOf(posicoes, capacidade);
+        faltas = Arrays.copyOf(faltas, capacidade);
+        primeiroTurno = Arrays.copyOf(primeiroTurno, capacidade);
+        segundoTurno = Arrays.copyOf(segundoTurno, capacidade);
+        fila = Arrays.copyOf(fila, capacidade);
+        chaves = Arrays.copyOf(chaves, capacidade);
+    }
+}
@@ -0,0 +1,76 @@
+package com.laec.lab_service.service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laec.lab_service.dto.EventoAulaDTO;
+import com.laec.lab_service.entity.EventoOutbox;
+import com.laec.lab_service.repository.EventoOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gravação dos eventos de aula no outbox, na transação da alteração: o evento existe se e somente se
+ * a alteração foi confirmada. A entrega fica com o OutboxRelay, acordado após o commit.
+ */
+@Component
+public class OutboxEventos {
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final OutboxRelay outboxRelay;
+    private final ObjectMapper objectMapper;
+
+    public OutboxEventos(EventoOutboxRepository eventoOutboxRepository, OutboxRelay outboxRelay,
+                         ObjectMapper objectMapper) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.outboxRelay = outboxRelay;
+        this.objectMapper = objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(EventoAulaDTO evento) {
+        registrar(List.of(evento));
+    }
+
+    /**
+     * Grava os eventos em um único batch, na ordem da lista
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(List<EventoAulaDTO> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        List<EventoOutbox> linhas = new ArrayList<>(eventos.size());
+        for (EventoAulaDTO evento : eventos) {
+            EventoOutbox linha = new EventoOutbox();
+            linha.setTipo(evento.getTipo());
+            linha.setAulaId(evento.getAulaId());
+            linha.setPayload(serializar(evento));
+            linhas.add(linha);
+        }
+        eventoOutboxRepository.registrarEmLote(linhas);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxRelay.acordar();
+            }
+        });
+    }
+
+    private String serializar(EventoAulaDTO evento) {
+        try {
+            return objectMapper.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao serializar evento " + evento.getTipo()
+                    + " da aula " + evento.getAulaId(), e);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.EventoPublicadoDTO;
+import com.laec.lab_service.entity.EventoOutbox;
+import com.laec.lab_service.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Entrega de um lote do outbox: destinos externos primeiro, depois os ouvintes em processo (@EventListener),
+ * e só então os eventos são marcados como publicados, tudo na transação que bloqueou o lote.
+ * Se um destino recusa o lote, os eventos são reenviados um a um até o primeiro recusado: os anteriores
+ * são publicados, o recusado sai da fila por um tempo que dobra a cada tentativa e, após o máximo de
+ * tentativas, é descartado (fica na tabela com descartado_em). Um evento com problema não segura a fila.
+ */
+@Service
+@Slf4j
+public class OutboxPublicador {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+
+    private final EventoOutboxRepository eventoOutboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<DestinoEventos> destinos;
+    private final int tentativasMaximas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final Counter publicados;
+    private final Counter falhas;
+    private final Counter descartados;
+
+    public OutboxPublicador(EventoOutboxRepository eventoOutboxRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            ObjectProvider<DestinoEventos> destinos,
+                            MeterRegistry meterRegistry,
+                            @Value("${lab.outbox.tentativas-maximas:10}") int tentativasMaximas,
+                            @Value("${lab.outbox.espera-inicial:PT5S}") Duration esperaInicial,
+                            @Value("${lab.outbox.espera-maxima:PT10M}") Duration esperaMaxima) {
+        this.eventoOutboxRepository = eventoOutboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.destinos = destinos;
+        this.tentativasMaximas = tentativasMaximas;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.publicados = Counter.builder("lab.outbox.publicados")
+                .description("Eventos do outbox entregues")
+                .register(meterRegistry);
+        this.falhas = Counter.builder("lab.outbox.falhas")
+                .description("Eventos do outbox recusados por um destino externo")
+                .register(meterRegistry);
+        this.descartados = Counter.builder("lab.outbox.descartados")
+                .description("Eventos do outbox descartados após o máximo de tentativas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Entrega o próximo lote de pendentes.
+     *
+     * @return quantidade de eventos entregues, ou -1 se um destino recusou um evento (o ciclo para aqui;
+     * os eventos seguintes ao recusado continuam pendentes para o próximo ciclo)
+     */
+    @Transactional
+    public int publicarProximoLote(int limite) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoOutbox> pendentes = eventoOutboxRepository.findPendentesParaPublicar(limite, agora);
+        if (pendentes.isEmpty()) {
+            return 0;
+        }
+
+        List<EventoPublicadoDTO> lote = pendentes.stream()
+                .map(e -> EventoPublicadoDTO.builder()
+                        .eventoId(e.getEventoId())
+                        .tipo(e.getTipo())
+                        .aulaId(e.getAulaId())
+                        .payload(e.getPayload())
+                        .ocorridoEm(e.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+
+        List<EventoPublicadoDTO> entregues = lote;
+        boolean recusado = false;
+        String erroLote = entregarAosDestinos(lote);
+        if (erroLote != null) {
+            log.warn("Lote do outbox ({} eventos a partir de {}) recusado por {}, reenviando um a um",
+                    lote.size(), lote.get(0).getEventoId(), erroLote);
+            entregues = new ArrayList<>(lote.size());
+            for (int i = 0; i < lote.size() && !recusado; i++) {
+                String erro = lote.size() == 1 ? erroLote : entregarAosDestinos(List.of(lote.get(i)));
+                if (erro == null) {
+                    entregues.add(lote.get(i));
+                } else {
+                    registrarFalha(pendentes.get(i), erro, agora);
+                    recusado = true;
+                }
+            }
+        }
+
+        // Ouvintes em processo: uma falha é registrada no log e não bloqueia a fila
+        for (EventoPublicadoDTO evento : entregues) {
+            try {
+                eventPublisher.publishEvent(evento);
+            } catch (RuntimeException e) {
+                log.error("Erro em ouvinte do evento {} ({} da aula {}): {}",
+                        evento.getEventoId(), evento.getTipo(), evento.getAulaId(), e.getMessage(), e);
+            }
+        }
+
+        if (!entregues.isEmpty()) {
+            eventoOutboxRepository.marcarPublicados(
+                    entregues.stream().map(EventoPublicadoDTO::getEventoId).collect(Collectors.toList()), agora);
+            publicados.increment(entregues.size());
+        }
+        return recusado ? -1 : entregues.size();
+    }
+
+    /**
+     * Entrega os eventos a todos os destinos externos
+     *
+     * @return null se todos aceitaram, ou o destino que recusou e o motivo
+     */
+    private String entregarAosDestinos(List<EventoPublicadoDTO> eventos) {
+        for (DestinoEventos destino : destinos.orderedStream().toList()) {
+            try {
+                destino.entregar(eventos);
+            } catch (Exception e) {
+                String erro = destino.getClass().getSimpleName() + ": " + e.getMessage();
+                return erro.length() > TAMANHO_MAXIMO_ERRO ? erro.substring(0, TAMANHO_MAXIMO_ERRO) : erro;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Conta a tentativa recusada: o evento espera esperaInicial * 2^(tentativas - 1), limitado a esperaMaxima,
+     * ou é descartado ao atingir tentativasMaximas
+     */
+    private void registrarFalha(EventoOutbox evento, String erro, LocalDateTime agora) {
+        int tentativas = evento.getTentativas() + 1;
+        falhas.increment();
+
+        if (tentativas >= tentativasMaximas) {
+            log.error("Evento {} do outbox ({} da aula {}) descartado após {} tentativas: {}",
+                    evento.getEventoId(), evento.getTipo(), evento.getAulaId(), tentativas, erro);
+            eventoOutboxRepository.registrarFalha(evento.getEventoId(), erro, null, agora);
+            descartados.increment();
+            return;
+        }
+
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        if (espera.compareTo(esperaMaxima) > 0) {
+            espera = esperaMaxima;
+        }
+        log.warn("Evento {} do outbox ({} da aula {}) recusado (tentativa {} de {}), nova tentativa em {}: {}",
+                evento.getEventoId(), evento.getTipo(), evento.getAulaId(), tentativas, tentativasMaximas, espera, erro);
+        eventoOutboxRepository.registrarFalha(evento.getEventoId(), erro, agora.plus(espera), null);
+    }
+
+    /**
+     * Remove os eventos já publicados antes do limite
+     */
+    @Transactional
+    public int removerPublicadosAntesDe(LocalDateTime limite) {
+        return eventoOutboxRepository.deletePublicadosAntesDe(limite);
+    }
+}
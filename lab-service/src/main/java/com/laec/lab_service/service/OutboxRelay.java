@@ -0,0 +1,70 @@
+package com.laec.lab_service.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Esvazia o outbox em lotes em uma única thread (outboxExecutor), fora das requisições.
+ * É acordado após o commit de cada escrita (OutboxEventos) e, como garantia, periodicamente
+ * (eventos gravados antes de uma queda da aplicação ou lotes recusados por um destino).
+ * Com a thread ocupada e um ciclo já na fila, novos pedidos são ignorados: o ciclo enfileirado
+ * lê todos os pendentes.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxPublicador outboxPublicador;
+    private final ThreadPoolTaskExecutor outboxExecutor;
+    private final int tamanhoLote;
+    private final Duration retencao;
+
+    public OutboxRelay(OutboxPublicador outboxPublicador,
+                       ThreadPoolTaskExecutor outboxExecutor,
+                       @Value("${lab.outbox.tamanho-lote:100}") int tamanhoLote,
+                       @Value("${lab.outbox.retencao:P7D}") Duration retencao) {
+        this.outboxPublicador = outboxPublicador;
+        this.outboxExecutor = outboxExecutor;
+        this.tamanhoLote = tamanhoLote;
+        this.retencao = retencao;
+    }
+
+    public void acordar() {
+        try {
+            outboxExecutor.execute(this::drenar);
+        } catch (TaskRejectedException e) {
+            // Já existe um ciclo na fila
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${lab.outbox.intervalo:PT5S}")
+    public void verificarPendentes() {
+        acordar();
+    }
+
+    @Scheduled(fixedDelayString = "${lab.outbox.limpeza:PT1H}")
+    public void limparPublicados() {
+        int removidos = outboxPublicador.removerPublicadosAntesDe(LocalDateTime.now().minus(retencao));
+        if (removidos > 0) {
+            log.info("{} eventos publicados removidos do outbox", removidos);
+        }
+    }
+
+    private void drenar() {
+        try {
+            int entregues;
+            do {
+                entregues = outboxPublicador.publicarProximoLote(tamanhoLote);
+            } while (entregues == tamanhoLote);
+        } catch (RuntimeException e) {
+            log.warn("Erro ao publicar eventos do outbox, nova tentativa no próximo ciclo: {}", e.getMessage());
+        }
+    }
+}
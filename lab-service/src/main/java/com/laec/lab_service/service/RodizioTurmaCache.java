@@ -0,0 +1,286 @@
+package com.laec.lab_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.laec.lab_service.dto.ContadoresRodizio;
+import com.laec.lab_service.dto.PrioridadeGruposDTO;
+import com.laec.lab_service.entity.Grupo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória do estado de rodízio por turma.
+ * Mantém os grupos ativos já ordenados pelo MotorRodizio (ultimaPosicao DESC, numeroGrupo ASC).
+ * O PrioridadeGruposDTO, com turno, ordem e textos explicativos, só é montado na primeira leitura após uma mudança.
+ * As escritas em GrupoService atualizam o estado incrementalmente após o commit,
+ * de modo que a leitura da prioridade só vai ao banco quando a turma ainda não está no cache.
+ * O cache é limitado em tamanho e cada turma expira um tempo fixo após ser carregada do banco (as atualizações
+ * incrementais não renovam o prazo), o que limita a defasagem de alterações feitas fora desta instância.
+ * O PrioridadeGruposDTO devolvido é compartilhado entre as leituras e não deve ser alterado.
+ */
+@Component
+@Slf4j
+public class RodizioTurmaCache {
+
+    private final Cache<Integer, EstadoTurma> estados;
+
+    private final GeracaoEscritas escritas = new GeracaoEscritas();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rebuilds;
+
+    public RodizioTurmaCache(MeterRegistry meterRegistry,
+                             @Value("${lab.rodizio.cache.tamanho-maximo:1000}") long tamanhoMaximo,
+                             @Value("${lab.rodizio.cache.expiracao:PT10M}") Duration expiracao) {
+        this.estados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(expiraAposCarga(expiracao))
+                .build();
+        this.hits = Counter.builder("lab.rodizio.cache.requests").tag("result", "hit")
+                .description("Leituras de prioridade atendidas pelo cache de rodízio")
+                .register(meterRegistry);
+        this.misses = Counter.builder("lab.rodizio.cache.requests").tag("result", "miss")
+                .description("Leituras de prioridade que precisaram ir ao banco")
+                .register(meterRegistry);
+        this.rebuilds = Counter.builder("lab.rodizio.cache.rebuilds")
+                .description("Reconstruções do estado de rodízio de uma turma a partir do banco")
+                .register(meterRegistry);
+        Gauge.builder("lab.rodizio.cache.size", estados, Cache::estimatedSize)
+                .description("Turmas com estado de rodízio em cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Retorna a prioridade da turma, carregando os grupos com o loader apenas em caso de miss
+     */
+    PrioridadeGruposDTO getPrioridade(Integer turmaId, CapacidadeTurma capacidade, Supplier<List<Grupo>> loader) {
+        EstadoTurma estado = estados.getIfPresent(turmaId);
+        if (estado != null) {
+            hits.increment();
+            return estado.prioridade(capacidade);
+        }
+
+        misses.increment();
+        long marca = escritas.marcar();
+        List<GrupoRodizio> grupos = loader.get().stream()
+                .map(GrupoRodizio::de)
+                .toList();
+        estado = EstadoTurma.montar(turmaId, grupos);
+        rebuilds.increment();
+
+        escritas.guardar(estados.asMap(), turmaId, estado, marca);
+        return estado.prioridade(capacidade);
+    }
+
+    /**
+     * Insere ou atualiza um grupo no estado da turma. Grupos inativos são removidos.
+     */
+    public void atualizarGrupo(Grupo grupo) {
+        Integer turmaId = grupo.getTurma().getTurmaId();
+        GrupoRodizio atualizado = GrupoRodizio.de(grupo);
+        boolean ativo = Boolean.TRUE.equals(grupo.getAtivo());
+        escritas.aposCommit(() -> estados.asMap().computeIfPresent(turmaId, (id, estado) -> ativo
+                ? estado.comGrupo(atualizado)
+                : estado.semGrupo(atualizado.grupoId())));
+    }
+
+    /**
+     * Aplica novos contadores de rodízio a grupos já presentes no estado da turma
+     */
+    public void atualizarContadores(Integer turmaId, Collection<ContadoresRodizio> contadores) {
+        List<ContadoresRodizio> copia = List.copyOf(contadores);
+        escritas.aposCommit(() -> estados.asMap()
+                .computeIfPresent(turmaId, (id, estado) -> estado.comContadores(copia)));
+    }
+
+    public void removerGrupo(Integer turmaId, Integer grupoId) {
+        escritas.aposCommit(() -> estados.asMap()
+                .computeIfPresent(turmaId, (id, estado) -> estado.semGrupo(grupoId)));
+    }
+
+    public void invalidar(Integer turmaId) {
+        escritas.aposCommit(() -> estados.invalidate(turmaId));
+    }
+
+    /**
+     * Prazo contado a partir da carga do banco: atualizações e leituras mantêm o tempo restante
+     */
+    private static Expiry<Integer, EstadoTurma> expiraAposCarga(Duration expiracao) {
+        long nanos = expiracao.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Integer turmaId, EstadoTurma estado, long agora) {
+                return nanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Integer turmaId, EstadoTurma estado, long agora, long restante) {
+                return restante;
+            }
+
+            @Override
+            public long expireAfterRead(Integer turmaId, EstadoTurma estado, long agora, long restante) {
+                return restante;
+            }
+        };
+    }
+
+    /**
+     * Snapshot imutável dos dados de um grupo usados no rodízio
+     */
+    record GrupoRodizio(Integer grupoId, Integer numeroGrupo, String nomeGrupo, Integer prioridadeAtual,
+                        Integer ultimaPosicao, Integer totalPrimeiroTurno, Integer totalSegundoTurno) {
+
+        static GrupoRodizio de(Grupo grupo) {
+            return new GrupoRodizio(grupo.getGrupoId(), grupo.getNumeroGrupo(), grupo.getNomeGrupo(),
+                    grupo.getPrioridadeAtual(), grupo.getUltimaPosicao(),
+                    grupo.getTotalPrimeiroTurno(), grupo.getTotalSegundoTurno());
+        }
+
+        GrupoRodizio com(ContadoresRodizio c) {
+            return new GrupoRodizio(grupoId, numeroGrupo, nomeGrupo, prioridadeAtual,
+                    c.getUltimaPosicao(), c.getTotalPrimeiroTurno(), c.getTotalSegundoTurno());
+        }
+    }
+
+    /**
+     * Estado de uma turma: grupos ordenados por prioridade e a prioridade montada sob demanda
+     */
+    static final class EstadoTurma {
+
+        private final Integer turmaId;
+        private final List<GrupoRodizio> grupos;
+
+        // Montada na primeira leitura para a capacidade pedida; duas leituras simultâneas
+        // no máximo montam o mesmo DTO duas vezes
+        private volatile PrioridadeMontada prioridade;
+
+        private EstadoTurma(Integer turmaId, List<GrupoRodizio> grupos) {
+            this.turmaId = turmaId;
+            this.grupos = grupos;
+        }
+
+        static EstadoTurma montar(Integer turmaId, List<GrupoRodizio> grupos) {
+            MotorRodizio motor = new MotorRodizio(grupos.size());
+            for (GrupoRodizio g : grupos) {
+                motor.adicionar(g.grupoId(), g.numeroGrupo(), MotorRodizio.posicao(g.ultimaPosicao()), 0, 0, 0);
+            }
+            motor.ordenar();
+
+            GrupoRodizio[] ordenados = new GrupoRodizio[grupos.size()];
+            for (int k = 0; k < ordenados.length; k++) {
+                ordenados[k] = grupos.get(motor.naFila(k));
+            }
+            return new EstadoTurma(turmaId, List.of(ordenados));
+        }
+
+        PrioridadeGruposDTO prioridade(CapacidadeTurma capacidade) {
+            PrioridadeMontada atual = prioridade;
+            if (atual == null || !atual.capacidade().equals(capacidade)) {
+                atual = new PrioridadeMontada(capacidade, montarPrioridade(turmaId, grupos, capacidade));
+                prioridade = atual;
+            }
+            return atual.dto();
+        }
+
+        EstadoTurma comGrupo(GrupoRodizio grupo) {
+            List<GrupoRodizio> novos = new ArrayList<>(grupos.size() + 1);
+            for (GrupoRodizio g : grupos) {
+                if (!g.grupoId().equals(grupo.grupoId())) {
+                    novos.add(g);
+                }
+            }
+            novos.add(grupo);
+            return montar(turmaId, novos);
+        }
+
+        EstadoTurma semGrupo(Integer grupoId) {
+            return montar(turmaId, grupos.stream()
+                    .filter(g -> !g.grupoId().equals(grupoId))
+                    .toList());
+        }
+
+        EstadoTurma comContadores(List<ContadoresRodizio> contadores) {
+            Map<Integer, ContadoresRodizio> porGrupo = new HashMap<>();
+            for (ContadoresRodizio c : contadores) {
+                porGrupo.put(c.getGrupoId(), c);
+            }
+            return montar(turmaId, grupos.stream()
+                    .map(g -> porGrupo.containsKey(g.grupoId()) ? g.com(porGrupo.get(g.grupoId())) : g)
+                    .toList());
+        }
+    }
+
+    private record PrioridadeMontada(CapacidadeTurma capacidade, PrioridadeGruposDTO dto) {
+    }
+
+    private static PrioridadeGruposDTO montarPrioridade(Integer turmaId, List<GrupoRodizio> grupos,
+                                                        CapacidadeTurma capacidade) {
+        if (grupos.isEmpty()) {
+            return PrioridadeGruposDTO.builder()
+                    .turmaId(turmaId)
+                    .gruposOrdenados(new ArrayList<>())
+                    .explicacao("Nenhum grupo cadastrado para esta turma")
+                    .build();
+        }
+
+        int totalGrupos = grupos.size();
+        List<PrioridadeGruposDTO.GrupoComPrioridade> gruposOrdenados = new ArrayList<>(totalGrupos);
+        for (int k = 0; k < totalGrupos; k++) {
+            GrupoRodizio grupo = grupos.get(k);
+            String motivo = "1º turno: " + grupo.totalPrimeiroTurno() + "x | 2º turno: " + grupo.totalSegundoTurno() + "x";
+
+            gruposOrdenados.add(PrioridadeGruposDTO.GrupoComPrioridade.builder()
+                    .grupoId(grupo.grupoId())
+                    .numeroGrupo(grupo.numeroGrupo())
+                    .nomeGrupo(grupo.nomeGrupo())
+                    .prioridadeAtual(grupo.prioridadeAtual())
+                    .totalPrimeiroTurno(grupo.totalPrimeiroTurno())
+                    .totalSegundoTurno(grupo.totalSegundoTurno())
+                    .turnoSugerido(capacidade.turnoNaFila(k, totalGrupos))
+                    .ordemSugerida(capacidade.ordemNaFila(k, totalGrupos))
+                    .motivoPrioridade(motivo)
+                    .build());
+        }
+
+        return PrioridadeGruposDTO.builder()
+                .turmaId(turmaId)
+                .gruposOrdenados(gruposOrdenados)
+                .explicacao(gerarExplicacaoPrioridade(totalGrupos, capacidade))
+                .build();
+    }
+
+    private static String gerarExplicacaoPrioridade(int totalGrupos, CapacidadeTurma capacidade) {
+        int turnos = capacidade.turnosUsados(totalGrupos);
+        if (turnos == 1) {
+            return "Todos os grupos cabem no primeiro turno (até " + capacidade.bancadasPorTurno() + " grupos).";
+        }
+
+        StringBuilder explicacao = new StringBuilder("Aula dividida em ").append(turnos).append(" turnos: ");
+        for (int turno = 1; turno <= turnos; turno++) {
+            explicacao.append(turno).append("º turno com ").append(capacidade.gruposNoTurno(turno, totalGrupos))
+                    .append(" grupos").append(turno < turnos ? ", " : ". ");
+        }
+        if (capacidade.excedida(totalGrupos)) {
+            explicacao.append("Atenção: ").append(totalGrupos - capacidade.capacidadeTotal())
+                    .append(" grupos além das ").append(capacidade.bancadasPorTurno())
+                    .append(" bancadas do último turno. ");
+        }
+        return explicacao.append("Sistema de rodízio: quem foi no último turno terá prioridade na próxima aula.")
+                .toString();
+    }
+}
@@ -0,0 +1,125 @@
+package com.laec.lab_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.laec.lab_service.dto.TurmaResponseDTO;
+import com.laec.lab_service.entity.Turma;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Year;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória, limitado em tamanho, das turmas por ID e das listas por combinação de filtros.
+ * Turmas mudam poucas vezes por semestre e são lidas em quase toda tela: com a turma em cache,
+ * a leitura não abre transação nem consulta a tabela turmas.
+ * As escritas em TurmaService invalidam, após o commit, apenas a turma alterada e as listas cujo filtro
+ * aceita o estado anterior ou o novo da turma.
+ * Métricas do Caffeine publicadas como cache.gets, cache.size e cache.evictions (tags cache=lab.turmas e
+ * cache=lab.turmas.filtros). Cada leitura recebe cópias dos DTOs em cache, que o chamador pode alterar à vontade.
+ */
+@Component
+public class TurmaCache {
+
+    private final Cache<Integer, TurmaResponseDTO> porId;
+    private final Cache<FiltroTurmas, List<TurmaResponseDTO>> porFiltro;
+
+    private final GeracaoEscritas escritas = new GeracaoEscritas();
+
+    public TurmaCache(MeterRegistry meterRegistry,
+                      @Value("${lab.turmas.cache.tamanho-maximo:1000}") long tamanhoMaximo,
+                      @Value("${lab.turmas.cache.filtros-maximo:200}") long filtrosMaximo,
+                      @Value("${lab.turmas.cache.expiracao:PT1H}") Duration expiracao) {
+        // A expiração limita a defasagem de alterações feitas fora do serviço e do anoLetivo.ativo na virada do ano
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+        this.porFiltro = Caffeine.newBuilder()
+                .maximumSize(filtrosMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, porId, "lab.turmas");
+        CaffeineCacheMetrics.monitor(meterRegistry, porFiltro, "lab.turmas.filtros");
+    }
+
+    /**
+     * Retorna a turma, consultando o banco com o loader apenas em caso de miss.
+     * Turmas inexistentes não ficam em cache.
+     */
+    public Optional<TurmaResponseDTO> getTurma(Integer turmaId, Supplier<Optional<Turma>> loader) {
+        TurmaResponseDTO turma = porId.getIfPresent(turmaId);
+        if (turma != null) {
+            return Optional.of(turma.copia());
+        }
+
+        long marca = escritas.marcar();
+        Optional<TurmaResponseDTO> carregada = loader.get().map(TurmaResponseDTO::fromEntity);
+        carregada.ifPresent(t -> escritas.guardar(porId.asMap(), turmaId, t, marca));
+        return carregada.map(TurmaResponseDTO::copia);
+    }
+
+    /**
+     * Retorna as turmas que atendem ao filtro, consultando o banco com o loader apenas em caso de miss
+     */
+    public List<TurmaResponseDTO> getTurmas(FiltroTurmas filtro, Supplier<List<Turma>> loader) {
+        List<TurmaResponseDTO> turmas = porFiltro.getIfPresent(filtro);
+        if (turmas != null) {
+            return copias(turmas);
+        }
+
+        long marca = escritas.marcar();
+        int anoAtual = Year.now().getValue();
+        turmas = loader.get().stream()
+                .map(turma -> TurmaResponseDTO.fromEntity(turma, anoAtual))
+                .toList();
+        escritas.guardar(porFiltro.asMap(), filtro, turmas, marca);
+        return copias(turmas);
+    }
+
+    private static List<TurmaResponseDTO> copias(List<TurmaResponseDTO> turmas) {
+        return turmas.stream().map(TurmaResponseDTO::copia).toList();
+    }
+
+    /**
+     * Invalida a turma e as listas afetadas pela escrita.
+     *
+     * @param antes  estado anterior (null na criação)
+     * @param depois estado novo (null na remoção)
+     */
+    public void turmaAlterada(TurmaResponseDTO antes, TurmaResponseDTO depois) {
+        escritas.aposCommit(() -> {
+            porFiltro.asMap().keySet().removeIf(filtro -> filtro.aceita(antes) || filtro.aceita(depois));
+            if (antes != null) {
+                porId.invalidate(antes.getTurmaId());
+            }
+            if (depois != null) {
+                porId.invalidate(depois.getTurmaId());
+            }
+        });
+    }
+
+    /**
+     * Combinação de filtros de uma listagem de turmas; null significa "qualquer valor"
+     */
+    public record FiltroTurmas(Integer ano, Turma.Semestre semestre, Turma.Turno turno, Turma.Unidade unidade) {
+
+        public static final FiltroTurmas TODAS = new FiltroTurmas(null, null, null, null);
+
+        boolean aceita(TurmaResponseDTO turma) {
+            return turma != null
+                    && (ano == null || ano.equals(turma.getAno()))
+                    && (semestre == null || semestre.name().equals(turma.getSemestre()))
+                    && (turno == null || turno.name().equals(turma.getTurno()))
+                    && (unidade == null || unidade.name().equals(turma.getUnidade()));
+        }
+    }
+}
@@ -1,18 +1,21 @@
 package com.laec.lab_service.service;
 
+import com.laec.lab_service.dto.ResumoAnosLetivosDTO;
 import com.laec.lab_service.dto.TurmaRequestDTO;
 import com.laec.lab_service.dto.TurmaResponseDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
 import com.laec.lab_service.entity.Turma;
 import com.laec.lab_service.exception.ResourceNotFoundException;
 import com.laec.lab_service.exception.DuplicateResourceException;
 import com.laec.lab_service.repository.TurmaRepository;
+import com.laec.lab_service.repository.TurmaSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -20,56 +23,75 @@ import java.util.stream.Collectors;
 public class TurmaService {
 
     private final TurmaRepository turmaRepository;
+    private final RodizioTurmaCache rodizioTurmaCache;
+    private final TurmaCache turmaCache;
+    private final AnosLetivosAgregado anosLetivosAgregado;
 
     /**
      * Listar todas as turmas
      */
-    @Transactional(readOnly = true)
     public List<TurmaResponseDTO> getAllTurmas() {
         log.info("Buscando todas as turmas");
-        return turmaRepository.findAll().stream()
-                .map(TurmaResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return turmaCache.getTurmas(TurmaCache.FiltroTurmas.TODAS, turmaRepository::findAll);
     }
 
     /**
      * Buscar turma por ID
      */
-    @Transactional(readOnly = true)
     public TurmaResponseDTO getTurmaById(Integer id) {
         log.info("Buscando turma com ID: {}", id);
-        Turma turma = turmaRepository.findById(id)
+        return buscarTurma(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada com ID: " + id));
-        return TurmaResponseDTO.fromEntity(turma);
+    }
+
+    /**
+     * Buscar turma por ID no cache, indo ao banco apenas se ela ainda não estiver lá
+     */
+    public Optional<TurmaResponseDTO> buscarTurma(Integer id) {
+        return turmaCache.getTurma(id, () -> turmaRepository.findById(id));
+    }
+
+    /**
+     * Versão da turma (GET condicional), lida do cache; compõe a versão das respostas que trazem dados da turma
+     */
+    public VersaoColecaoDTO getVersao(Integer id) {
+        return VersaoColecaoDTO.de(buscarTurma(id).stream().toList(), TurmaResponseDTO::getTurmaId,
+                TurmaResponseDTO::getVersao, TurmaResponseDTO::getUpdatedAt);
+    }
+
+    /**
+     * Referência à turma para associar a grupos e aulas: a existência é verificada pelo cache
+     * e a entidade não é carregada do banco
+     */
+    public Turma getReferencia(Integer id) {
+        if (buscarTurma(id).isEmpty()) {
+            throw new ResourceNotFoundException("Turma não encontrada: " + id);
+        }
+        return turmaRepository.getReferenceById(id);
     }
 
     /**
      * Buscar turmas por ano
      */
-    @Transactional(readOnly = true)
     public List<TurmaResponseDTO> getTurmasByAno(Integer ano) {
         log.info("Buscando turmas do ano: {}", ano);
-        return turmaRepository.findByAno(ano).stream()
-                .map(TurmaResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return turmaCache.getTurmas(new TurmaCache.FiltroTurmas(ano, null, null, null),
+                () -> turmaRepository.findByAno(ano));
     }
 
     /**
      * Buscar turmas por ano e semestre
      */
-    @Transactional(readOnly = true)
     public List<TurmaResponseDTO> getTurmasByAnoAndSemestre(Integer ano, String semestre) {
         log.info("Buscando turmas do ano {} e semestre {}", ano, semestre);
         Turma.Semestre semestreEnum = Turma.Semestre.valueOf(semestre);
-        return turmaRepository.findByAnoAndSemestre(ano, semestreEnum).stream()
-                .map(TurmaResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        return turmaCache.getTurmas(new TurmaCache.FiltroTurmas(ano, semestreEnum, null, null),
+                () -> turmaRepository.findByAnoAndSemestre(ano, semestreEnum));
     }
 
     /**
      * Buscar turmas com filtros
      */
-    @Transactional(readOnly = true)
     public List<TurmaResponseDTO> getTurmasComFiltros(
             Integer ano,
             String semestre,
@@ -82,18 +104,26 @@ public class TurmaService {
         Turma.Turno turnoEnum = turno != null ? Turma.Turno.valueOf(turno) : null;
         Turma.Unidade unidadeEnum = unidade != null ? Turma.Unidade.valueOf(unidade) : null;
 
-        return turmaRepository.findByFilters(ano, semestreEnum, turnoEnum, unidadeEnum).stream()
-                .map(TurmaResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+        // Só os filtros informados entram no WHERE, para o PostgreSQL usar os índices de turmas
+        return turmaCache.getTurmas(new TurmaCache.FiltroTurmas(ano, semestreEnum, turnoEnum, unidadeEnum),
+                () -> turmaRepository.findAll(
+                        TurmaSpecifications.comFiltros(ano, semestreEnum, turnoEnum, unidadeEnum)));
     }
 
     /**
      * Buscar anos letivos disponíveis
      */
-    @Transactional(readOnly = true)
     public List<Integer> getAnosLetivos() {
         log.info("Buscando anos letivos disponíveis");
-        return turmaRepository.findDistinctAnos();
+        return anosLetivosAgregado.getAnos(turmaRepository::contarPorCombinacao);
+    }
+
+    /**
+     * Resumo dos anos letivos (anos e contagens por semestre, turno e unidade) servido da memória
+     */
+    public ResumoAnosLetivosDTO getResumoAnosLetivos() {
+        log.info("Buscando resumo dos anos letivos");
+        return anosLetivosAgregado.getResumo(turmaRepository::contarPorCombinacao);
     }
 
     /**
@@ -124,11 +154,16 @@ public class TurmaService {
         turma.setUnidade(request.getUnidade());
         turma.setDiaSemana(request.getDiaSemana());
         turma.setNomeTurma(request.getNomeTurma());
+        turma.setBancadasPorTurno(request.getBancadasPorTurno());
+        turma.setTurnosPorAula(request.getTurnosPorAula());
 
         Turma saved = turmaRepository.save(turma);
+        TurmaResponseDTO response = TurmaResponseDTO.fromEntity(saved);
+        turmaCache.turmaAlterada(null, response);
+        anosLetivosAgregado.turmaAlterada(null, response);
         log.info("Turma criada com sucesso. ID: {}", saved.getTurmaId());
 
-        return TurmaResponseDTO.fromEntity(saved);
+        return response;
     }
 
     /**
@@ -140,6 +175,7 @@ public class TurmaService {
 
         Turma turma = turmaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada com ID: " + id));
+        TurmaResponseDTO antes = TurmaResponseDTO.fromEntity(turma);
 
         turma.setAno(request.getAno());
         turma.setSemestre(request.getSemestre());
@@ -147,11 +183,17 @@ public class TurmaService {
         turma.setUnidade(request.getUnidade());
         turma.setDiaSemana(request.getDiaSemana());
         turma.setNomeTurma(request.getNomeTurma());
+        turma.setBancadasPorTurno(request.getBancadasPorTurno());
+        turma.setTurnosPorAula(request.getTurnosPorAula());
 
         Turma updated = turmaRepository.save(turma);
+        TurmaResponseDTO response = TurmaResponseDTO.fromEntity(updated);
+        // A capacidade usada na alocação também vem deste cache
+        turmaCache.turmaAlterada(antes, response);
+        anosLetivosAgregado.turmaAlterada(antes, response);
         log.info("Turma atualizada com sucesso. ID: {}", id);
 
-        return TurmaResponseDTO.fromEntity(updated);
+        return response;
     }
 
     /**
@@ -161,20 +203,22 @@ public class TurmaService {
     public void deletarTurma(Integer id) {
         log.info("Deletando turma ID: {}", id);
 
-        if (!turmaRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Turma não encontrada com ID: " + id);
-        }
+        Turma turma = turmaRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Turma não encontrada com ID: " + id));
 
-        turmaRepository.deleteById(id);
+        turmaRepository.delete(turma);
+        TurmaResponseDTO removida = TurmaResponseDTO.fromEntity(turma);
+        turmaCache.turmaAlterada(removida, null);
+        anosLetivosAgregado.turmaAlterada(removida, null);
+        rodizioTurmaCache.invalidar(id);
         log.info("Turma deletada com sucesso. ID: {}", id);
     }
 
     /**
      * Contar turmas por ano
      */
-    @Transactional(readOnly = true)
     public Long contarTurmasPorAno(Integer ano) {
         log.info("Contando turmas do ano: {}", ano);
-        return turmaRepository.countByAno(ano);
+        return anosLetivosAgregado.contarTurmas(ano, turmaRepository::contarPorCombinacao);
     }
 }
@@ -0,0 +1,13 @@
+-- Outbox: espera entre tentativas de um evento recusado e descarte (dead letter) após o máximo de tentativas.
+-- Um evento recusado sai da fila até proxima_tentativa_em; um evento descartado fica na tabela para análise
+-- e não é mais entregue nem removido pela limpeza dos publicados
+
+ALTER TABLE eventos_outbox ADD COLUMN IF NOT EXISTS proxima_tentativa_em TIMESTAMP;
+ALTER TABLE eventos_outbox ADD COLUMN IF NOT EXISTS descartado_em TIMESTAMP;
+
+-- Fila de pendentes sem os descartados
+DROP INDEX IF EXISTS idx_eventos_outbox_pendentes;
+CREATE INDEX IF NOT EXISTS idx_eventos_outbox_pendentes ON eventos_outbox (evento_id)
+    WHERE publicado_em IS NULL AND descartado_em IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_eventos_outbox_descartados ON eventos_outbox (descartado_em) WHERE descartado_em IS NOT NULL;
@@ -0,0 +1,37 @@
+-- Versão de cada linha para o GET condicional (ETag das coleções): começa em 0 e o banco incrementa a cada UPDATE,
+-- qualquer que seja o caminho (JPA, JDBC em lote ou SQL manual). Ao contrário de MAX(updated_at), a soma das
+-- versões de uma coleção sempre muda quando uma linha é alterada, mesmo com dois commits no mesmo instante
+-- ou fora da ordem de início das transações (updated_at = LOCALTIMESTAMP é o início da transação)
+
+CREATE OR REPLACE FUNCTION incrementar_versao() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.versao := OLD.versao + 1;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+ALTER TABLE turmas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE grupos ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE aulas_praticas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE grupos_aulas ADD COLUMN IF NOT EXISTS versao BIGINT NOT NULL DEFAULT 0;
+
+DROP TRIGGER IF EXISTS trg_turmas_versao ON turmas;
+CREATE TRIGGER trg_turmas_versao BEFORE UPDATE ON turmas
+    FOR EACH ROW EXECUTE FUNCTION incrementar_versao();
+
+DROP TRIGGER IF EXISTS trg_grupos_versao ON grupos;
+CREATE TRIGGER trg_grupos_versao BEFORE UPDATE ON grupos
+    FOR EACH ROW EXECUTE FUNCTION incrementar_versao();
+
+DROP TRIGGER IF EXISTS trg_aulas_praticas_versao ON aulas_praticas;
+CREATE TRIGGER trg_aulas_praticas_versao BEFORE UPDATE ON aulas_praticas
+    FOR EACH ROW EXECUTE FUNCTION incrementar_versao();
+
+DROP TRIGGER IF EXISTS trg_grupos_aulas_versao ON grupos_aulas;
+CREATE TRIGGER trg_grupos_aulas_versao BEFORE UPDATE ON grupos_aulas
+    FOR EACH ROW EXECUTE FUNCTION incrementar_versao();
+
+COMMENT ON COLUMN turmas.versao IS 'Incrementada pelo trigger a cada UPDATE; compõe a ETag das coleções';
+COMMENT ON COLUMN grupos.versao IS 'Incrementada pelo trigger a cada UPDATE; compõe a ETag das coleções';
+COMMENT ON COLUMN aulas_praticas.versao IS 'Incrementada pelo trigger a cada UPDATE; compõe a ETag das coleções';
+COMMENT ON COLUMN grupos_aulas.versao IS 'Incrementada pelo trigger a cada UPDATE; compõe a ETag das coleções';
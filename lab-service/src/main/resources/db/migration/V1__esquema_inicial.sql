@@ -0,0 +1,74 @@
+-- Esquema inicial do lab-service (turmas, grupos, aulas práticas e participações)
+-- Idempotente: em bancos criados antes do Flyway (ddl-auto ou database-aulas-praticas.sql) não altera nada,
+-- e as migrações seguintes trazem o esquema para a versão atual.
+-- O lab-service e o user-service compartilham o banco, cada um com sua tabela de histórico do Flyway.
+
+CREATE TABLE IF NOT EXISTS turmas (
+    turma_id SERIAL PRIMARY KEY,
+    ano INTEGER NOT NULL,
+    semestre VARCHAR(20) NOT NULL,
+    turno VARCHAR(20) NOT NULL,
+    unidade VARCHAR(20) NOT NULL,
+    dia_semana VARCHAR(20) NOT NULL,
+    nome_turma VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS grupos (
+    grupo_id SERIAL PRIMARY KEY,
+    turma_id INTEGER NOT NULL,
+    numero_grupo INTEGER NOT NULL,
+    nome_grupo VARCHAR(255),
+    prioridade_atual INTEGER DEFAULT 0,
+    total_faltas INTEGER DEFAULT 0,
+    ultima_posicao INTEGER,
+    ativo BOOLEAN DEFAULT true,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_grupo_turma FOREIGN KEY (turma_id) REFERENCES turmas(turma_id) ON DELETE CASCADE,
+    CONSTRAINT uk_grupo_turma_numero UNIQUE (turma_id, numero_grupo)
+);
+
+CREATE TABLE IF NOT EXISTS aulas_praticas (
+    aula_id SERIAL PRIMARY KEY,
+    turma_id INTEGER NOT NULL,
+    data_aula DATE NOT NULL,
+    numero_aula INTEGER,
+    tema VARCHAR(255),
+    procedimento VARCHAR(255),
+    observacoes TEXT,
+    status VARCHAR(20) DEFAULT 'PLANEJADA' CHECK (status IN ('PLANEJADA', 'EM_ANDAMENTO', 'CONCLUIDA', 'CANCELADA')),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_aula_turma FOREIGN KEY (turma_id) REFERENCES turmas(turma_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS grupos_aulas (
+    grupo_aula_id SERIAL PRIMARY KEY,
+    aula_id INTEGER NOT NULL,
+    grupo_id INTEGER NOT NULL,
+    turno INTEGER NOT NULL CHECK (turno IN (1, 2)),
+    ordem_execucao INTEGER NOT NULL CHECK (ordem_execucao BETWEEN 1 AND 8),
+    presente BOOLEAN DEFAULT true,
+    horario_inicio TIMESTAMP,
+    horario_fim TIMESTAMP,
+    observacoes TEXT,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_grupo_aula_aula FOREIGN KEY (aula_id) REFERENCES aulas_praticas(aula_id) ON DELETE CASCADE,
+    CONSTRAINT fk_grupo_aula_grupo FOREIGN KEY (grupo_id) REFERENCES grupos(grupo_id) ON DELETE CASCADE,
+    CONSTRAINT uk_grupo_aula UNIQUE (aula_id, grupo_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_grupos_turma ON grupos(turma_id);
+CREATE INDEX IF NOT EXISTS idx_grupos_prioridade ON grupos(prioridade_atual DESC);
+CREATE INDEX IF NOT EXISTS idx_aulas_turma ON aulas_praticas(turma_id);
+CREATE INDEX IF NOT EXISTS idx_aulas_data ON aulas_praticas(data_aula);
+CREATE INDEX IF NOT EXISTS idx_grupos_aulas_aula ON grupos_aulas(aula_id);
+CREATE INDEX IF NOT EXISTS idx_grupos_aulas_grupo ON grupos_aulas(grupo_id);
+
+COMMENT ON TABLE grupos IS 'Grupos de alunos por turma';
+COMMENT ON TABLE grupos_aulas IS 'Participação de grupos em aulas práticas com controle de turnos';
+COMMENT ON COLUMN grupos.prioridade_atual IS 'Pontuação de prioridade - quanto maior, mais prioridade';
+COMMENT ON COLUMN grupos_aulas.presente IS 'false = grupo faltou à aula';
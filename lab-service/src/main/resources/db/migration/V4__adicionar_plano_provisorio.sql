@@ -0,0 +1,6 @@
+-- Participações provisórias geradas pelo plano de alocação do semestre
+
+ALTER TABLE grupos_aulas
+ADD COLUMN IF NOT EXISTS provisorio BOOLEAN NOT NULL DEFAULT false;
+
+COMMENT ON COLUMN grupos_aulas.provisorio IS 'true = alocação gerada pelo plano do semestre, ainda não confirmada pelo professor';
@@ -0,0 +1,30 @@
+-- Log append-only dos eventos de rodízio dos grupos
+-- Os contadores da tabela grupos passam a ser uma projeção destes eventos
+
+CREATE TABLE IF NOT EXISTS eventos_grupos (
+    evento_id BIGSERIAL PRIMARY KEY,
+    turma_id INTEGER NOT NULL,
+    grupo_id INTEGER NOT NULL REFERENCES grupos(grupo_id) ON DELETE CASCADE,
+    aula_id INTEGER,
+    tipo VARCHAR(30) NOT NULL,
+    turno INTEGER,
+    presente BOOLEAN,
+    presenca_anterior BOOLEAN,
+    total_grupos INTEGER,
+    ultima_posicao INTEGER,
+    total_faltas INTEGER,
+    total_primeiro_turno INTEGER,
+    total_segundo_turno INTEGER,
+    created_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE INDEX IF NOT EXISTS idx_eventos_grupos_grupo ON eventos_grupos (grupo_id, evento_id);
+
+COMMENT ON TABLE eventos_grupos IS 'Eventos imutáveis de presença e conclusão de aula. Não atualizar nem apagar linhas.';
+
+-- Saldo inicial: o estado atual de cada grupo é o ponto de partida do replay
+INSERT INTO eventos_grupos (turma_id, grupo_id, tipo, ultima_posicao, total_faltas, total_primeiro_turno, total_segundo_turno)
+SELECT g.turma_id, g.grupo_id, 'SALDO_INICIAL', g.ultima_posicao,
+       COALESCE(g.total_faltas, 0), COALESCE(g.total_primeiro_turno, 0), COALESCE(g.total_segundo_turno, 0)
+FROM grupos g
+WHERE NOT EXISTS (SELECT 1 FROM eventos_grupos e WHERE e.grupo_id = g.grupo_id AND e.tipo = 'SALDO_INICIAL');
@@ -0,0 +1,17 @@
+-- Capacidade das aulas por turma: bancadas por turno e quantidade de turnos
+-- NULL mantém o padrão anterior (2 turnos de 8 bancadas)
+
+ALTER TABLE turmas
+ADD COLUMN IF NOT EXISTS bancadas_por_turno INTEGER CHECK (bancadas_por_turno > 0),
+ADD COLUMN IF NOT EXISTS turnos_por_aula INTEGER CHECK (turnos_por_aula > 0);
+
+COMMENT ON COLUMN turmas.bancadas_por_turno IS 'Grupos atendidos simultaneamente em um turno (NULL = 8)';
+COMMENT ON COLUMN turmas.turnos_por_aula IS 'Quantidade máxima de turnos de uma aula (NULL = 2)';
+
+-- Com turnos e bancadas configuráveis, o turno e a ordem de execução deixam de ser limitados a 2 e 8
+ALTER TABLE grupos_aulas
+DROP CONSTRAINT IF EXISTS grupos_aulas_turno_check,
+DROP CONSTRAINT IF EXISTS grupos_aulas_ordem_execucao_check;
+
+COMMENT ON COLUMN grupos_aulas.turno IS '1 = primeiro turno; do 2 em diante contam como segundo turno nos contadores do grupo';
+COMMENT ON COLUMN grupos_aulas.ordem_execucao IS 'Ordem de execução dentro do turno (1 até o número de bancadas)';
@@ -0,0 +1,11 @@
+-- Índices dos filtros de turmas (GET /api/turmas?ano=&semestre=&turno=&unidade=)
+-- A consulta só inclui os filtros informados (TurmaSpecifications), então cada combinação usa o índice certo.
+-- Benchmark com 100 mil turmas: src/jmh/sql/filtros-turmas-100k.sql
+
+-- Ano lidera: atende ano, ano+semestre, ano+semestre+turno, todos os filtros
+-- e a verificação de turma duplicada (com dia_semana)
+CREATE INDEX IF NOT EXISTS idx_turmas_ano_semestre_turno_unidade
+    ON turmas (ano, semestre, turno, unidade, dia_semana);
+
+-- Filtros sem ano: unidade, unidade+turno
+CREATE INDEX IF NOT EXISTS idx_turmas_unidade_turno ON turmas (unidade, turno);
@@ -0,0 +1,32 @@
+-- Índices derivados das consultas de GrupoRepository, GrupoAulaRepository e AulaPraticaRepository
+-- (e dos UPDATEs em lote dos repositórios *BatchRepositoryImpl). Os índices de uma coluna que ficam
+-- cobertos pelo prefixo de um índice composto são removidos para não pesar nas escritas.
+
+-- grupos: findByTurmaOrderByPrioridade (turma + ativo, ORDER BY ultima_posicao DESC, numero_grupo),
+-- findByTurma_TurmaIdAndAtivoTrue, countAtivosByTurma e a contagem de ativos em aplicarPresencasAlteradas;
+-- o prefixo turma_id atende findByTurma_TurmaId e existsByTurma_TurmaIdAndNumeroGrupo
+CREATE INDEX IF NOT EXISTS idx_grupos_turma_ativo_prioridade
+    ON grupos (turma_id, ativo, ultima_posicao DESC, numero_grupo);
+DROP INDEX IF EXISTS idx_grupos_turma;
+
+-- prioridade_atual não é usada em nenhum filtro ou ordenação
+DROP INDEX IF EXISTS idx_grupos_prioridade;
+
+-- grupos_aulas: participações de uma aula em ordem de execução (findByAulaComGrupos,
+-- findByAulaPratica_AulaIdAndTurnoOrderByOrdemExecucao); o prefixo aula_id atende confirmação/remoção
+-- do plano provisório, findAulasComAlocacaoConfirmada e as listas de presença
+CREATE INDEX IF NOT EXISTS idx_grupos_aulas_aula_turno_ordem
+    ON grupos_aulas (aula_id, turno, ordem_execucao);
+DROP INDEX IF EXISTS idx_grupos_aulas_aula;
+
+-- grupos_aulas: presenças e faltas de um grupo (countPresencasByGrupo, countFaltasByGrupo, findByGrupo_GrupoId)
+CREATE INDEX IF NOT EXISTS idx_grupos_aulas_grupo_presente ON grupos_aulas (grupo_id, presente);
+DROP INDEX IF EXISTS idx_grupos_aulas_grupo;
+
+-- aulas_praticas: aulas da turma por data e histórico paginado por (data_aula, aula_id) DESC,
+-- aula na data (existsByTurma_TurmaIdAndDataAula), período, última e próximas aulas
+CREATE INDEX IF NOT EXISTS idx_aulas_turma_data ON aulas_praticas (turma_id, data_aula, aula_id);
+DROP INDEX IF EXISTS idx_aulas_turma;
+
+-- aulas_praticas: alocação do dia (findByDataAula, findByDataAulaAndUnidade)
+CREATE INDEX IF NOT EXISTS idx_aulas_data ON aulas_praticas (data_aula);
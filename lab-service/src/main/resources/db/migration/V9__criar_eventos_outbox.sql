@@ -0,0 +1,21 @@
+-- Outbox transacional dos eventos de aula: cada linha é gravada na mesma transação da alteração
+-- e depois entregue pelo OutboxRelay aos ouvintes em processo e aos destinos externos
+
+CREATE TABLE IF NOT EXISTS eventos_outbox (
+    evento_id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(30) NOT NULL,
+    aula_id INTEGER NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+    publicado_em TIMESTAMP,
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    ultimo_erro VARCHAR(500)
+);
+
+-- Pendentes em ordem de gravação (o relay lê sempre o início desta fila); fica pequeno com a fila em dia
+CREATE INDEX IF NOT EXISTS idx_eventos_outbox_pendentes ON eventos_outbox (evento_id) WHERE publicado_em IS NULL;
+
+-- Limpeza dos eventos já publicados após o período de retenção
+CREATE INDEX IF NOT EXISTS idx_eventos_outbox_publicado_em ON eventos_outbox (publicado_em) WHERE publicado_em IS NOT NULL;
+
+COMMENT ON TABLE eventos_outbox IS 'Eventos de aula a publicar. Sem chave estrangeira: o evento de remoção sobrevive à aula.';
@@ -0,0 +1,58 @@
+package com.laec.lab_service.config;
+
+import com.laec.lab_service.exception.ErrorResponse;
+import com.laec.lab_service.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Executores limitados com a fila cheia: a alocação roda na própria requisição e as recusas
+ * que chegam ao controller viram 503, não 500
+ */
+class ExecutorConfigTest {
+
+	@Test
+	void alocacaoComFilaCheiaRodaNaPropriaRequisicao() {
+		ThreadPoolTaskExecutor executor = new ExecutorConfig().alocacaoExecutor(1);
+		CountDownLatch liberar = new CountDownLatch(1);
+		try {
+			// Uma tarefa ocupando a thread e a fila inteira esperando
+			for (int i = 0; i <= executor.getQueueCapacity(); i++) {
+				executor.execute(() -> aguardar(liberar));
+			}
+
+			String thread = CompletableFuture.supplyAsync(() -> Thread.currentThread().getName(), executor).join();
+
+			assertEquals(Thread.currentThread().getName(), thread);
+		} finally {
+			liberar.countDown();
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void tarefaRecusadaRespondeServiceUnavailable() {
+		ResponseEntity<ErrorResponse> resposta = new GlobalExceptionHandler().handleRejectedExecutionException(
+				new TaskRejectedException("fila cheia"), new ServletWebRequest(new MockHttpServletRequest()));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, resposta.getStatusCode());
+	}
+
+	private static void aguardar(CountDownLatch liberar) {
+		try {
+			liberar.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.laec.lab_service.dto;
+
+import com.laec.lab_service.exception.ErrorResponse;
+import com.laec.lab_service.exception.GlobalExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Cursor do histórico de aulas: ida e volta e cursores malformados respondidos com 400
+ */
+class CursorAulaDTOTest {
+
+	@Test
+	void codificarEDecodificarPreservamAPosicao() {
+		CursorAulaDTO cursor = new CursorAulaDTO(LocalDate.of(2024, 3, 15), 4217);
+
+		String codificado = cursor.codificar();
+
+		assertFalse(codificado.contains("="), "cursor sem padding para caber na URL");
+		assertEquals(cursor, CursorAulaDTO.decodificar(codificado));
+	}
+
+	@Test
+	void cursorMalformadoRespondeBadRequest() {
+		for (String cursor : new String[]{"@@@", base64("2024-03-15"), base64("2024-03-15|x"),
+				base64("15/03/2024|10"), base64("2024-03-15|10|2")}) {
+			IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+					() -> CursorAulaDTO.decodificar(cursor), cursor);
+
+			ResponseEntity<ErrorResponse> resposta = new GlobalExceptionHandler()
+					.handleIllegalArgumentException(erro, new ServletWebRequest(new MockHttpServletRequest()));
+			assertEquals(HttpStatus.BAD_REQUEST, resposta.getStatusCode(), cursor);
+		}
+	}
+
+	private static String base64(String valor) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+}
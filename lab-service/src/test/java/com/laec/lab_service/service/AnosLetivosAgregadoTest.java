@@ -0,0 +1,37 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.ContagemTurmasDTO;
+import com.laec.lab_service.dto.ResumoAnosLetivosDTO;
+import com.laec.lab_service.entity.Turma;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * O resumo dos anos letivos é entregue como cópia: alterar o DTO recebido não muda o agregado
+ */
+class AnosLetivosAgregadoTest {
+
+	@Test
+	void resumoAlteradoPorUmLeitorNaoMudaOAgregado() {
+		AnosLetivosAgregado agregado = new AnosLetivosAgregado(Duration.ofHours(1));
+		List<ContagemTurmasDTO> contagens = List.of(
+				new ContagemTurmasDTO(2020, Turma.Semestre.primeiro, Turma.Turno.matutino, Turma.Unidade.bueno, 3L));
+
+		ResumoAnosLetivosDTO lido = agregado.getResumo(() -> contagens);
+		lido.setTotalTurmas(99L);
+		lido.getAnos().get(0).getPorTurno().put(Turma.Turno.matutino.name(), 99L);
+		lido.getAnos().clear();
+
+		ResumoAnosLetivosDTO relido = agregado.getResumo(() -> {
+			throw new AssertionError("o agregado deveria estar carregado");
+		});
+		assertEquals(3L, relido.getTotalTurmas());
+		assertEquals(3L, relido.getAnos().get(0).getPorTurno().get(Turma.Turno.matutino.name()));
+		assertTrue(agregado.getAnos(() -> contagens).contains(2020));
+	}
+}
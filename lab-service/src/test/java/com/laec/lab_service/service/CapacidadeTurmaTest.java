@@ -0,0 +1,87 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.TurmaResponseDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Divisão da fila de prioridade entre os turnos: layout padrão (preenche cada turno em sequência),
+ * divisão equilibrada das turmas com capacidade configurada e grupos além da capacidade
+ */
+class CapacidadeTurmaTest {
+
+	@Test
+	void turmaSemCapacidadeConfiguradaUsaOPadrao() {
+		TurmaResponseDTO turma = new TurmaResponseDTO();
+
+		assertSame(CapacidadeTurma.PADRAO, CapacidadeTurma.de(turma));
+	}
+
+	@Test
+	void padraoPreencheOPrimeiroTurnoAntesDoSegundo() {
+		assertArrayEquals(new int[]{8, 4}, gruposPorTurno(CapacidadeTurma.PADRAO, 12));
+		assertArrayEquals(new int[]{8, 8}, gruposPorTurno(CapacidadeTurma.PADRAO, 16));
+		assertArrayEquals(new int[]{5}, gruposPorTurno(CapacidadeTurma.PADRAO, 5));
+	}
+
+	@Test
+	void padraoAcimaDaCapacidadeColocaExcedentesNoSegundoTurno() {
+		CapacidadeTurma capacidade = CapacidadeTurma.PADRAO;
+
+		assertTrue(capacidade.excedida(20));
+		assertArrayEquals(new int[]{8, 12}, gruposPorTurno(capacidade, 20));
+		assertEquals(2, capacidade.turnoNaFila(19, 20));
+		assertEquals(12, capacidade.ordemNaFila(19, 20));
+	}
+
+	@Test
+	void capacidadeConfiguradaDivideAFilaDeFormaEquilibrada() {
+		TurmaResponseDTO turma = new TurmaResponseDTO();
+		turma.setBancadasPorTurno(6);
+		turma.setTurnosPorAula(3);
+		CapacidadeTurma capacidade = CapacidadeTurma.de(turma);
+
+		assertFalse(capacidade.excedida(18));
+		assertArrayEquals(new int[]{5, 5, 4}, gruposPorTurno(capacidade, 14));
+		assertArrayEquals(new int[]{4, 3}, gruposPorTurno(capacidade, 7));
+		assertArrayEquals(new int[]{6}, gruposPorTurno(capacidade, 6));
+	}
+
+	@Test
+	void capacidadeConfiguradaAcimaDoLimitePreencheOsTurnosEmSequencia() {
+		CapacidadeTurma capacidade = new CapacidadeTurma(6, 3, true);
+
+		assertTrue(capacidade.excedida(20));
+		assertArrayEquals(new int[]{6, 6, 8}, gruposPorTurno(capacidade, 20));
+	}
+
+	@Test
+	void capacidadeInvalidaERejeitada() {
+		assertThrows(IllegalArgumentException.class, () -> new CapacidadeTurma(0, 2, true));
+		assertThrows(IllegalArgumentException.class, () -> new CapacidadeTurma(8, 0, false));
+	}
+
+	/**
+	 * Grupos por turno segundo turnoNaFila, conferindo que as ordens de cada turno são 1..n em sequência
+	 * e que gruposNoTurno e turnosUsados concordam com a fila
+	 */
+	private static int[] gruposPorTurno(CapacidadeTurma capacidade, int totalGrupos) {
+		int turnos = capacidade.turnosUsados(totalGrupos);
+		int[] contagem = new int[turnos];
+		for (int k = 0; k < totalGrupos; k++) {
+			int turno = capacidade.turnoNaFila(k, totalGrupos);
+			contagem[turno - 1]++;
+			assertEquals(contagem[turno - 1], capacidade.ordemNaFila(k, totalGrupos), "ordem da posição " + k);
+		}
+		for (int turno = 1; turno <= turnos; turno++) {
+			assertEquals(contagem[turno - 1], capacidade.gruposNoTurno(turno, totalGrupos), "turno " + turno);
+		}
+		return contagem;
+	}
+}
@@ -0,0 +1,61 @@
+package com.laec.lab_service.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.laec.lab_service.dto.LinhaPresencaDTO;
+import com.laec.lab_service.repository.AulaPraticaRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Campos de texto do CSV exportado (RFC 4180): aspas só quando necessário, aspas internas duplicadas
+ */
+class ExportacaoPresencasServiceTest {
+
+	private static final String CABECALHO = "aula_id,data_aula,numero_aula,tema,grupo_id,numero_grupo,"
+			+ "nome_grupo,turno,ordem_execucao,presente,provisorio\n";
+
+	private final AulaPraticaRepository aulaPraticaRepository = mock(AulaPraticaRepository.class);
+	private final ExportacaoPresencasService service =
+			new ExportacaoPresencasService(aulaPraticaRepository, new ObjectMapper());
+
+	@Test
+	void textoSimplesSaiSemAspas() throws Exception {
+		assertEquals(CABECALHO + "1,2024-03-15,3,Reforço,10,2,Grupo 2,1,4,true,false\n",
+				exportar(linha("Reforço", "Grupo 2")));
+	}
+
+	@Test
+	void separadorAspasEQuebrasDeLinhaFicamEntreAspas() throws Exception {
+		assertEquals(CABECALHO + "1,2024-03-15,3,\"Esquemas, parte 2\",10,2,\"Grupo \"\"A\"\"\",1,4,true,false\n",
+				exportar(linha("Esquemas, parte 2", "Grupo \"A\"")));
+		assertEquals(CABECALHO + "1,2024-03-15,3,\"Linha 1\nLinha 2\",10,2,\"Grupo\r\",1,4,true,false\n",
+				exportar(linha("Linha 1\nLinha 2", "Grupo\r")));
+	}
+
+	@Test
+	void aulaSemGruposTemCamposDoGrupoVazios() throws Exception {
+		LinhaPresencaDTO semGrupos = new LinhaPresencaDTO(1, LocalDate.of(2024, 3, 15), null, null,
+				null, null, null, null, null, null, null);
+
+		assertEquals(CABECALHO + "1,2024-03-15,,,,,,,,,\n", exportar(semGrupos));
+	}
+
+	private String exportar(LinhaPresencaDTO linha) throws Exception {
+		when(aulaPraticaRepository.streamPresencasByTurma(7)).thenReturn(Stream.of(linha));
+		ByteArrayOutputStream saida = new ByteArrayOutputStream();
+		service.exportar(7, FormatoExportacao.CSV, saida);
+		return saida.toString(StandardCharsets.UTF_8);
+	}
+
+	private static LinhaPresencaDTO linha(String tema, String nomeGrupo) {
+		return new LinhaPresencaDTO(1, LocalDate.of(2024, 3, 15), 3, tema, 10, 2, nomeGrupo, 1, 4, true, false);
+	}
+}
@@ -0,0 +1,234 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.AulaPraticaRequestDTO;
+import com.laec.lab_service.dto.AulaPraticaResponseDTO;
+import com.laec.lab_service.dto.GrupoRequestDTO;
+import com.laec.lab_service.dto.ListaPresencaRequestDTO;
+import com.laec.lab_service.dto.TurmaRequestDTO;
+import com.laec.lab_service.entity.Grupo;
+import com.laec.lab_service.entity.Turma;
+import com.laec.lab_service.repository.GrupoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Marca presença de vários grupos da mesma turma ao mesmo tempo e confere que nenhuma
+ * atualização de contador se perde (precisa do banco configurado, como o contextLoads)
+ */
+@SpringBootTest
+class MarcarPresencaConcorrenciaTest {
+
+	private static final int TOTAL_GRUPOS = 16;
+	private static final int TOTAL_AULAS = 4;
+	private static final int THREADS = 16;
+
+	@Autowired
+	private TurmaService turmaService;
+
+	@Autowired
+	private GrupoService grupoService;
+
+	@Autowired
+	private AulaPraticaService aulaPraticaService;
+
+	@Autowired
+	private GrupoRepository grupoRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Integer turmaId;
+	private final List<Integer> aulas = new ArrayList<>();
+	private final List<Integer> participacoes = new ArrayList<>();
+
+	@BeforeEach
+	void criarTurma() {
+		// Ano fora do calendário real e acima de qualquer turma de teste já gravada: a chave
+		// (ano, semestre, turno, unidade, dia) não colide com turmas existentes nem com execuções anteriores
+		Integer ano = jdbcTemplate.queryForObject(
+				"SELECT GREATEST(COALESCE(MAX(ano), 0), 8999) + 1 FROM turmas", Integer.class);
+		turmaId = turmaService.criarTurma(new TurmaRequestDTO(ano,
+				Turma.Semestre.segundo, Turma.Turno.matutino, Turma.Unidade.bueno, Turma.DiaSemana.segunda,
+				"Concorrência", null, null)).getTurmaId();
+
+		for (int numero = 1; numero <= TOTAL_GRUPOS; numero++) {
+			grupoService.criarGrupo(new GrupoRequestDTO(turmaId, numero, "Grupo " + numero));
+		}
+
+		for (int i = 0; i < TOTAL_AULAS; i++) {
+			Integer aulaId = aulaPraticaService.criarAula(new AulaPraticaRequestDTO(turmaId,
+					LocalDate.of(2020, 1, 6).plusWeeks(i), i + 1, "Aula " + (i + 1), null, null, null)).getAulaId();
+			AulaPraticaResponseDTO aula = aulaPraticaService.alocarGruposAutomaticamente(aulaId);
+			aulas.add(aulaId);
+			aula.getGruposParticipantes().forEach(ga -> participacoes.add(ga.getGrupoAulaId()));
+		}
+	}
+
+	@AfterEach
+	void removerTurma() {
+		jdbcTemplate.update("DELETE FROM eventos_outbox WHERE aula_id IN "
+				+ "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+		jdbcTemplate.update("DELETE FROM eventos_grupos WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM grupos_aulas WHERE aula_id IN "
+				+ "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+		jdbcTemplate.update("DELETE FROM aulas_praticas WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM grupos WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM turmas WHERE turma_id = ?", turmaId);
+	}
+
+	@Test
+	void faltasSimultaneasNaoPerdemAtualizacoes() throws Exception {
+		List<Callable<Void>> tarefas = new ArrayList<>();
+		for (Integer grupoAulaId : participacoes) {
+			tarefas.add(() -> {
+				aulaPraticaService.marcarPresenca(grupoAulaId, false);
+				return null;
+			});
+		}
+		executar(tarefas);
+
+		// Cada grupo faltou em todas as aulas, marcadas em paralelo
+		for (Grupo grupo : grupoRepository.findByTurma_TurmaId(turmaId)) {
+			assertEquals(TOTAL_AULAS, grupo.getTotalFaltas(), "faltas do grupo " + grupo.getNumeroGrupo());
+			assertEquals(0, grupo.getUltimaPosicao());
+		}
+		assertEquals(0, grupoService.reprocessarContadores(turmaId).getGruposCorrigidos());
+	}
+
+	@Test
+	void alternanciaConcorrenteMantemContadoresIguaisAoHistorico() throws Exception {
+		List<Callable<Void>> tarefas = new ArrayList<>();
+		for (int rodada = 0; rodada < 8; rodada++) {
+			boolean presente = rodada % 2 == 1;
+			for (Integer grupoAulaId : participacoes) {
+				// Duas marcações iguais disputando a mesma linha: só uma deve contar
+				tarefas.add(() -> {
+					aulaPraticaService.marcarPresenca(grupoAulaId, presente);
+					return null;
+				});
+				tarefas.add(() -> {
+					aulaPraticaService.marcarPresenca(grupoAulaId, presente);
+					return null;
+				});
+			}
+		}
+		executar(tarefas);
+
+		assertEquals(0, grupoService.reprocessarContadores(turmaId).getGruposCorrigidos());
+	}
+
+	@Test
+	void listasDePresencaSimultaneasNaoPerdemAtualizacoes() throws Exception {
+		List<Callable<Void>> tarefas = new ArrayList<>();
+		for (Integer aulaId : aulas) {
+			tarefas.add(() -> {
+				List<ListaPresencaRequestDTO.PresencaDTO> lista = aulaPraticaService.getAulaById(aulaId)
+						.getGruposParticipantes().stream()
+						.map(ga -> new ListaPresencaRequestDTO.PresencaDTO(ga.getGrupoAulaId(), false))
+						.toList();
+				AulaPraticaResponseDTO aula = aulaPraticaService.marcarPresencas(aulaId, lista);
+				aula.getGruposParticipantes().forEach(ga -> assertEquals(false, ga.getPresente()));
+				return null;
+			});
+			// Marcações individuais disputando os mesmos grupos
+			tarefas.add(() -> {
+				aulaPraticaService.getAulaById(aulaId).getGruposParticipantes()
+						.forEach(ga -> aulaPraticaService.marcarPresenca(ga.getGrupoAulaId(), false));
+				return null;
+			});
+		}
+		executar(tarefas);
+
+		for (Grupo grupo : grupoRepository.findByTurma_TurmaId(turmaId)) {
+			assertEquals(TOTAL_AULAS, grupo.getTotalFaltas(), "faltas do grupo " + grupo.getNumeroGrupo());
+		}
+		assertEquals(0, grupoService.reprocessarContadores(turmaId).getGruposCorrigidos());
+	}
+
+	@Test
+	void listasDePresencaConcorrentesNaoTravamNemPerdemAtualizacoes() throws Exception {
+		List<Callable<Void>> tarefas = new ArrayList<>();
+		for (int rodada = 0; rodada < 6; rodada++) {
+			boolean presente = rodada % 2 == 1;
+			for (Integer aulaId : aulas) {
+				List<ListaPresencaRequestDTO.PresencaDTO> lista = new ArrayList<>(aulaPraticaService.getAulaById(aulaId)
+						.getGruposParticipantes().stream()
+						.map(ga -> new ListaPresencaRequestDTO.PresencaDTO(ga.getGrupoAulaId(), presente))
+						.toList());
+				// Listas da mesma aula em ordens opostas e listas de aulas diferentes, todas sobre os mesmos grupos
+				List<ListaPresencaRequestDTO.PresencaDTO> invertida = new ArrayList<>(lista);
+				Collections.reverse(invertida);
+				tarefas.add(() -> {
+					aulaPraticaService.marcarPresencas(aulaId, lista);
+					return null;
+				});
+				tarefas.add(() -> {
+					aulaPraticaService.marcarPresencas(aulaId, invertida);
+					return null;
+				});
+			}
+		}
+		executar(tarefas);
+
+		// As rodadas terminam em qualquer ordem, mas cada aula conta uma vez, como falta ou como presença
+		for (Grupo grupo : grupoRepository.findByTurma_TurmaId(turmaId)) {
+			assertEquals(TOTAL_AULAS,
+					grupo.getTotalFaltas() + grupo.getTotalPrimeiroTurno() + grupo.getTotalSegundoTurno(),
+					"aulas do grupo " + grupo.getNumeroGrupo());
+		}
+		assertEquals(0, grupoService.reprocessarContadores(turmaId).getGruposCorrigidos());
+	}
+
+	@Test
+	void conclusaoConcorrenteComMarcacoesNaoPerdeAtualizacoes() throws Exception {
+		List<Callable<Void>> tarefas = new ArrayList<>();
+		for (Integer aulaId : aulas) {
+			List<Integer> participacoesDaAula = aulaPraticaService.getAulaById(aulaId).getGruposParticipantes().stream()
+					.map(AulaPraticaResponseDTO.GrupoAulaDTO::getGrupoAulaId)
+					.toList();
+			// A conclusão de cada aula disputa os mesmos grupos com as faltas marcadas nas outras aulas
+			tarefas.add(() -> {
+				aulaPraticaService.concluirAula(aulaId);
+				return null;
+			});
+			for (Integer grupoAulaId : participacoesDaAula) {
+				tarefas.add(() -> {
+					aulaPraticaService.marcarPresenca(grupoAulaId, false);
+					return null;
+				});
+			}
+		}
+		executar(tarefas);
+
+		// Um evento por grupo em cada conclusão e um por falta marcada; os contadores batem com esse histórico
+		assertEquals(2 * TOTAL_AULAS * TOTAL_GRUPOS, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM eventos_grupos WHERE turma_id = ?", Integer.class, turmaId));
+		assertEquals(0, grupoService.reprocessarContadores(turmaId).getGruposCorrigidos());
+	}
+
+	private void executar(List<Callable<Void>> tarefas) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (Future<Void> resultado : executor.invokeAll(tarefas)) {
+				resultado.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
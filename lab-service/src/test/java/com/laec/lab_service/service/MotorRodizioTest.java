@@ -0,0 +1,155 @@
+package com.laec.lab_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Regras do rodízio aplicadas pelo MotorRodizio (as mesmas do SQL em lote de GrupoBatchRepositoryImpl)
+ */
+class MotorRodizioTest {
+
+	private static final int TOTAL_GRUPOS = 12;
+
+	@Test
+	void presencaInvertePosicaoEContaTurno() {
+		MotorRodizio motor = new MotorRodizio(2);
+		int primeiro = motor.adicionar(1, 1, 3, 0, 0, 0);
+		int segundo = motor.adicionar(2, 2, 12, 0, 0, 0);
+
+		motor.aplicar(primeiro, 1, true, MotorRodizio.SEM_ANTERIOR, TOTAL_GRUPOS);
+		motor.aplicar(segundo, 2, true, MotorRodizio.SEM_ANTERIOR, TOTAL_GRUPOS);
+
+		assertEquals(10, motor.posicao(primeiro));
+		assertEquals(1, motor.totalPrimeiroTurno(primeiro));
+		assertEquals(0, motor.totalSegundoTurno(primeiro));
+		assertEquals(1, motor.posicao(segundo));
+		assertEquals(0, motor.totalPrimeiroTurno(segundo));
+		assertEquals(1, motor.totalSegundoTurno(segundo));
+	}
+
+	@Test
+	void presencaNuncaMarcadaContaComoPresente() {
+		assertTrue(MotorRodizio.presente(null));
+		assertTrue(MotorRodizio.presente(true));
+		assertFalse(MotorRodizio.presente(false));
+
+		// Concluir com presença nula produz o mesmo estado que concluir com presença marcada
+		MotorRodizio motor = new MotorRodizio(2);
+		int semMarcacao = motor.adicionar(1, 1, 3, 0, 0, 0);
+		int presente = motor.adicionar(2, 2, 3, 0, 0, 0);
+		motor.aplicar(semMarcacao, 1, MotorRodizio.presente(null), MotorRodizio.SEM_ANTERIOR, TOTAL_GRUPOS);
+		motor.aplicar(presente, 1, true, MotorRodizio.SEM_ANTERIOR, TOTAL_GRUPOS);
+
+		assertEquals(motor.posicao(presente), motor.posicao(semMarcacao));
+		assertEquals(1, motor.totalPrimeiroTurno(semMarcacao));
+		assertEquals(0, motor.totalFaltas(semMarcacao));
+	}
+
+	@Test
+	void grupoSemPosicaoOuFaltanteContaComoFinalDaFila() {
+		assertEquals(1, MotorRodizio.novaPosicao(MotorRodizio.SEM_POSICAO, TOTAL_GRUPOS));
+		assertEquals(1, MotorRodizio.novaPosicao(0, TOTAL_GRUPOS));
+		assertEquals(TOTAL_GRUPOS, MotorRodizio.novaPosicao(1, TOTAL_GRUPOS));
+	}
+
+	@Test
+	void faltaVaiParaFinalDaFilaEContaFalta() {
+		MotorRodizio motor = new MotorRodizio(1);
+		int i = motor.adicionar(1, 1, 5, 2, 3, 4);
+
+		motor.aplicar(i, 1, false, MotorRodizio.SEM_ANTERIOR, TOTAL_GRUPOS);
+
+		assertEquals(0, motor.posicao(i));
+		assertEquals(3, motor.totalFaltas(i));
+		assertEquals(3, motor.totalPrimeiroTurno(i));
+		assertEquals(4, motor.totalSegundoTurno(i));
+	}
+
+	@Test
+	void presencaRevertidaParaFaltaDesfazContadorDoTurno() {
+		MotorRodizio motor = new MotorRodizio(1);
+		int i = motor.adicionar(1, 1, 10, 0, 1, 0);
+
+		motor.aplicar(i, 1, false, MotorRodizio.ANTERIOR_PRESENTE, TOTAL_GRUPOS);
+
+		assertEquals(0, motor.posicao(i));
+		assertEquals(1, motor.totalFaltas(i));
+		assertEquals(0, motor.totalPrimeiroTurno(i));
+	}
+
+	@Test
+	void faltaRevertidaParaPresencaDesfazFalta() {
+		MotorRodizio motor = new MotorRodizio(1);
+		int i = motor.adicionar(1, 1, 0, 1, 0, 0);
+
+		motor.aplicar(i, 2, true, MotorRodizio.ANTERIOR_FALTA, TOTAL_GRUPOS);
+
+		assertEquals(1, motor.posicao(i));
+		assertEquals(0, motor.totalFaltas(i));
+		assertEquals(1, motor.totalSegundoTurno(i));
+	}
+
+	@Test
+	void contadoresNaoFicamNegativosAoReverter() {
+		MotorRodizio motor = new MotorRodizio(1);
+		int i = motor.adicionar(1, 1, 4, 0, 0, 0);
+
+		motor.aplicar(i, 1, false, MotorRodizio.ANTERIOR_PRESENTE, TOTAL_GRUPOS);
+		assertEquals(0, motor.totalPrimeiroTurno(i));
+
+		motor.aplicar(i, 1, true, MotorRodizio.ANTERIOR_FALTA, TOTAL_GRUPOS);
+		assertEquals(0, motor.totalFaltas(i));
+		assertEquals(1, motor.totalPrimeiroTurno(i));
+	}
+
+	@Test
+	void turnosAlemDoSegundoContamComoSegundoTurno() {
+		MotorRodizio motor = new MotorRodizio(1);
+		int i = motor.adicionar(1, 1, 6, 0, 0, 0);
+
+		motor.aplicar(i, 3, true, MotorRodizio.SEM_ANTERIOR, TOTAL_GRUPOS);
+		assertEquals(0, motor.totalPrimeiroTurno(i));
+		assertEquals(1, motor.totalSegundoTurno(i));
+
+		motor.aplicar(i, 3, false, MotorRodizio.ANTERIOR_PRESENTE, TOTAL_GRUPOS);
+		assertEquals(0, motor.totalSegundoTurno(i));
+		assertEquals(1, motor.totalFaltas(i));
+	}
+
+	@Test
+	void filaOrdenaSemPosicaoPrimeiroDepoisPosicaoDescENumeroAsc() {
+		MotorRodizio motor = new MotorRodizio(2);
+		// grupoId, numeroGrupo, posição
+		motor.adicionar(10, 4, 5, 0, 0, 0);
+		motor.adicionar(11, 2, 0, 0, 0, 0);
+		motor.adicionar(12, 3, 5, 0, 0, 0);
+		motor.adicionar(13, 5, MotorRodizio.SEM_POSICAO, 0, 0, 0);
+		motor.adicionar(14, 1, 7, 0, 0, 0);
+		motor.adicionar(15, 6, MotorRodizio.SEM_POSICAO, 0, 0, 0);
+
+		motor.ordenar();
+
+		int[] esperados = {13, 15, 14, 12, 10, 11};
+		for (int k = 0; k < esperados.length; k++) {
+			assertEquals(esperados[k], motor.grupoId(motor.naFila(k)), "posição " + k + " da fila");
+		}
+	}
+
+	@Test
+	void limparPermiteReaproveitarOMotor() {
+		MotorRodizio motor = new MotorRodizio(1);
+		motor.adicionar(1, 1, 2, 0, 0, 0);
+		motor.adicionar(2, 2, 1, 0, 0, 0);
+		motor.limpar();
+
+		int i = motor.adicionar(3, 1, MotorRodizio.SEM_POSICAO, 0, 0, 0);
+		motor.ordenar();
+
+		assertEquals(1, motor.tamanho());
+		assertEquals(3, motor.grupoId(motor.naFila(0)));
+		assertEquals(null, MotorRodizio.ultimaPosicao(motor.posicao(i)));
+	}
+}
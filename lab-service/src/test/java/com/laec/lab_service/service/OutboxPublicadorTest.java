@@ -0,0 +1,151 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.EventoAulaDTO;
+import com.laec.lab_service.dto.EventoPublicadoDTO;
+import com.laec.lab_service.entity.EventoOutbox;
+import com.laec.lab_service.repository.EventoOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Lote recusado por um destino: o evento recusado é isolado, espera cada vez mais entre as tentativas
+ * e é descartado após o máximo, sem segurar os eventos anteriores a ele
+ */
+class OutboxPublicadorTest {
+
+	private static final long EVENTO_RECUSADO = 3L;
+
+	private final EventoOutboxRepository eventoOutboxRepository = mock(EventoOutboxRepository.class);
+	private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+	private final DestinoRecusaEvento destino = new DestinoRecusaEvento();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private OutboxPublicador publicador;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void criarPublicador() {
+		ObjectProvider<DestinoEventos> destinos = mock(ObjectProvider.class);
+		when(destinos.orderedStream()).thenAnswer(invocacao -> Stream.of(destino));
+		publicador = new OutboxPublicador(eventoOutboxRepository, eventPublisher, destinos, meterRegistry,
+				4, Duration.ofSeconds(5), Duration.ofSeconds(12));
+	}
+
+	@Test
+	void loteSemRecusaEPublicadoInteiro() {
+		pendentes(evento(1L, 0), evento(2L, 0));
+
+		assertEquals(2, publicador.publicarProximoLote(10));
+		verify(eventoOutboxRepository).marcarPublicados(eq(List.of(1L, 2L)), any());
+		verify(eventPublisher, times(2)).publishEvent(any(EventoPublicadoDTO.class));
+		verify(eventoOutboxRepository, never()).registrarFalha(anyLong(), anyString(), any(), any());
+	}
+
+	@Test
+	void eventoRecusadoNaoSeguraOsAnteriores() {
+		pendentes(evento(1L, 0), evento(2L, 0), evento(EVENTO_RECUSADO, 0), evento(4L, 0));
+
+		assertEquals(-1, publicador.publicarProximoLote(10));
+
+		// 1 e 2 entregues; 3 espera a próxima tentativa; 4 continua pendente para o próximo ciclo
+		verify(eventoOutboxRepository).marcarPublicados(eq(List.of(1L, 2L)), any());
+		verify(eventPublisher, times(2)).publishEvent(any(EventoPublicadoDTO.class));
+		verify(eventoOutboxRepository).registrarFalha(eq(EVENTO_RECUSADO), eq("DestinoRecusaEvento: payload inválido"),
+				any(LocalDateTime.class), eq(null));
+		assertEquals(1.0, meterRegistry.counter("lab.outbox.falhas").count());
+		// Uma entrega do lote inteiro e uma de cada evento até o recusado
+		assertEquals(4, destino.entregas);
+	}
+
+	@Test
+	void esperaDobraACadaTentativaAteOMaximo() {
+		conferirEsperaAposFalha(0, Duration.ofSeconds(5));
+		conferirEsperaAposFalha(1, Duration.ofSeconds(10));
+		conferirEsperaAposFalha(2, Duration.ofSeconds(12));
+	}
+
+	@Test
+	void eventoEDescartadoNaUltimaTentativa() {
+		pendentes(evento(EVENTO_RECUSADO, 3));
+
+		assertEquals(-1, publicador.publicarProximoLote(10));
+
+		ArgumentCaptor<LocalDateTime> proxima = ArgumentCaptor.forClass(LocalDateTime.class);
+		ArgumentCaptor<LocalDateTime> descartadoEm = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(eventoOutboxRepository).registrarFalha(eq(EVENTO_RECUSADO), anyString(), proxima.capture(),
+				descartadoEm.capture());
+		assertNull(proxima.getValue());
+		assertNotNull(descartadoEm.getValue());
+		assertEquals(1.0, meterRegistry.counter("lab.outbox.descartados").count());
+		verify(eventoOutboxRepository, never()).marcarPublicados(anyList(), any());
+	}
+
+	private void conferirEsperaAposFalha(int tentativasAnteriores, Duration esperada) {
+		pendentes(evento(EVENTO_RECUSADO, tentativasAnteriores));
+		LocalDateTime antes = LocalDateTime.now();
+		publicador.publicarProximoLote(10);
+		LocalDateTime depois = LocalDateTime.now();
+
+		ArgumentCaptor<LocalDateTime> proxima = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(eventoOutboxRepository, times(tentativasAnteriores + 1))
+				.registrarFalha(eq(EVENTO_RECUSADO), anyString(), proxima.capture(), eq(null));
+		// A espera conta a partir do início do ciclo, que ficou entre antes e depois
+		assertFalse(proxima.getValue().isBefore(antes.plus(esperada)), "tentativa " + (tentativasAnteriores + 1));
+		assertFalse(proxima.getValue().isAfter(depois.plus(esperada)), "tentativa " + (tentativasAnteriores + 1));
+	}
+
+	private void pendentes(EventoOutbox... eventos) {
+		when(eventoOutboxRepository.findPendentesParaPublicar(anyInt(), any())).thenReturn(List.of(eventos));
+	}
+
+	private static EventoOutbox evento(long eventoId, int tentativas) {
+		EventoOutbox evento = new EventoOutbox();
+		evento.setEventoId(eventoId);
+		evento.setTipo(EventoAulaDTO.Tipo.values()[0]);
+		evento.setAulaId(7);
+		evento.setPayload("{}");
+		evento.setCreatedAt(LocalDateTime.of(2024, 3, 15, 8, 0));
+		evento.setTentativas(tentativas);
+		return evento;
+	}
+
+	/**
+	 * Recusa qualquer entrega que contenha o evento 3
+	 */
+	private static class DestinoRecusaEvento implements DestinoEventos {
+
+		private int entregas;
+
+		@Override
+		public void entregar(List<EventoPublicadoDTO> eventos) {
+			entregas++;
+			if (eventos.stream().anyMatch(e -> e.getEventoId() == EVENTO_RECUSADO)) {
+				throw new IllegalStateException("payload inválido");
+			}
+		}
+	}
+}
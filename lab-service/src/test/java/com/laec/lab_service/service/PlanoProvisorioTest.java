@@ -0,0 +1,125 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.AulaPraticaRequestDTO;
+import com.laec.lab_service.dto.AulaPraticaResponseDTO;
+import com.laec.lab_service.dto.GrupoRequestDTO;
+import com.laec.lab_service.dto.ListaPresencaRequestDTO;
+import com.laec.lab_service.dto.TurmaRequestDTO;
+import com.laec.lab_service.entity.Turma;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Plano provisório não confirmado: concluir a aula ou marcar presença não altera os contadores
+ * do rodízio nem grava eventos dos grupos (precisa do banco configurado, como o contextLoads)
+ */
+@SpringBootTest
+class PlanoProvisorioTest {
+
+	private static final int TOTAL_GRUPOS = 6;
+
+	@Autowired
+	private TurmaService turmaService;
+
+	@Autowired
+	private GrupoService grupoService;
+
+	@Autowired
+	private AulaPraticaService aulaPraticaService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Integer turmaId;
+	private Integer aulaId;
+
+	@BeforeEach
+	void criarTurma() {
+		// Mesmo esquema do MarcarPresencaConcorrenciaTest: ano acima de qualquer turma já gravada
+		Integer ano = jdbcTemplate.queryForObject(
+				"SELECT GREATEST(COALESCE(MAX(ano), 0), 8999) + 1 FROM turmas", Integer.class);
+		turmaId = turmaService.criarTurma(new TurmaRequestDTO(ano,
+				Turma.Semestre.segundo, Turma.Turno.matutino, Turma.Unidade.bueno, Turma.DiaSemana.segunda,
+				"Plano provisório", null, null)).getTurmaId();
+
+		for (int numero = 1; numero <= TOTAL_GRUPOS; numero++) {
+			grupoService.criarGrupo(new GrupoRequestDTO(turmaId, numero, "Grupo " + numero));
+		}
+
+		// O plano só cobre aulas a partir de hoje
+		aulaId = aulaPraticaService.criarAula(new AulaPraticaRequestDTO(turmaId,
+				LocalDate.now().plusWeeks(1), 1, "Aula 1", null, null, null)).getAulaId();
+	}
+
+	@AfterEach
+	void removerTurma() {
+		jdbcTemplate.update("DELETE FROM eventos_outbox WHERE aula_id IN "
+				+ "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+		jdbcTemplate.update("DELETE FROM eventos_grupos WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM grupos_aulas WHERE aula_id IN "
+				+ "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+		jdbcTemplate.update("DELETE FROM aulas_praticas WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM grupos WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM turmas WHERE turma_id = ?", turmaId);
+	}
+
+	@Test
+	void concluirAulaComPlanoNaoConfirmadoNaoAlteraOsContadores() {
+		List<AulaPraticaResponseDTO> plano = aulaPraticaService.gerarPlanoAlocacao(turmaId);
+		assertEquals(1, plano.size());
+		List<Map<String, Object>> antes = contadores();
+
+		AulaPraticaResponseDTO concluida = aulaPraticaService.concluirAula(aulaId);
+
+		assertTrue(concluida.getGruposParticipantes().isEmpty());
+		assertEquals(antes, contadores());
+		assertEquals(0, eventosDosGrupos());
+
+		// Depois de confirmado, o mesmo plano passa a contar
+		aulaPraticaService.confirmarPlano(aulaId);
+		aulaPraticaService.concluirAula(aulaId);
+
+		assertNotEquals(antes, contadores());
+		assertEquals(TOTAL_GRUPOS, eventosDosGrupos());
+	}
+
+	@Test
+	void presencaNoPlanoNaoConfirmadoERejeitada() {
+		List<AulaPraticaResponseDTO.GrupoAulaDTO> participacoes =
+				aulaPraticaService.gerarPlanoAlocacao(turmaId).get(0).getGruposParticipantes();
+		Integer grupoAulaId = participacoes.get(0).getGrupoAulaId();
+		List<Map<String, Object>> antes = contadores();
+
+		assertThrows(IllegalArgumentException.class, () -> aulaPraticaService.marcarPresenca(grupoAulaId, false));
+		assertThrows(IllegalArgumentException.class, () -> aulaPraticaService.marcarPresencas(aulaId,
+				List.of(new ListaPresencaRequestDTO.PresencaDTO(grupoAulaId, false))));
+
+		assertEquals(antes, contadores());
+		assertEquals(0, eventosDosGrupos());
+		assertEquals(true, jdbcTemplate.queryForObject(
+				"SELECT presente FROM grupos_aulas WHERE grupo_aula_id = ?", Boolean.class, grupoAulaId));
+	}
+
+	private List<Map<String, Object>> contadores() {
+		return jdbcTemplate.queryForList("SELECT grupo_id, prioridade_atual, total_faltas, total_primeiro_turno, "
+				+ "total_segundo_turno, ultima_posicao FROM grupos WHERE turma_id = ? ORDER BY grupo_id", turmaId);
+	}
+
+	private int eventosDosGrupos() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM eventos_grupos WHERE turma_id = ?",
+				Integer.class, turmaId);
+	}
+}
@@ -0,0 +1,56 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.TurmaResponseDTO;
+import com.laec.lab_service.entity.Turma;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * O cache de turmas entrega cópias: alterar o DTO recebido não muda o que as próximas leituras recebem
+ */
+class TurmaCacheTest {
+
+	private final TurmaCache turmaCache = new TurmaCache(new SimpleMeterRegistry(), 10, 10, Duration.ofHours(1));
+
+	@Test
+	void turmaAlteradaPorUmLeitorNaoMudaOCache() {
+		TurmaResponseDTO lida = turmaCache.getTurma(1, () -> Optional.of(turma())).orElseThrow();
+		lida.setNomeTurma("Alterada");
+		lida.getAnoLetivo().setAtivo(true);
+
+		TurmaResponseDTO relida = turmaCache.getTurma(1, () -> {
+			throw new AssertionError("a turma deveria estar em cache");
+		}).orElseThrow();
+		assertEquals("Turma A", relida.getNomeTurma());
+		assertEquals(false, relida.getAnoLetivo().getAtivo());
+	}
+
+	@Test
+	void listaAlteradaPorUmLeitorNaoMudaOCache() {
+		List<TurmaResponseDTO> lidas = turmaCache.getTurmas(TurmaCache.FiltroTurmas.TODAS, () -> List.of(turma()));
+		lidas.get(0).setNomeTurma("Alterada");
+
+		List<TurmaResponseDTO> relidas = turmaCache.getTurmas(TurmaCache.FiltroTurmas.TODAS, () -> {
+			throw new AssertionError("a lista deveria estar em cache");
+		});
+		assertEquals("Turma A", relidas.get(0).getNomeTurma());
+	}
+
+	private static Turma turma() {
+		Turma turma = new Turma();
+		turma.setTurmaId(1);
+		turma.setAno(2020);
+		turma.setSemestre(Turma.Semestre.primeiro);
+		turma.setTurno(Turma.Turno.matutino);
+		turma.setUnidade(Turma.Unidade.bueno);
+		turma.setDiaSemana(Turma.DiaSemana.segunda);
+		turma.setNomeTurma("Turma A");
+		return turma;
+	}
+}
@@ -0,0 +1,101 @@
+package com.laec.lab_service.service;
+
+import com.laec.lab_service.dto.AulaPraticaRequestDTO;
+import com.laec.lab_service.dto.GrupoRequestDTO;
+import com.laec.lab_service.dto.TurmaRequestDTO;
+import com.laec.lab_service.dto.VersaoColecaoDTO;
+import com.laec.lab_service.entity.Turma;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Versão das coleções (ETag): uma alteração que não avança MAX(updated_at), como dois commits no mesmo instante,
+ * ainda muda a ETag (precisa do banco configurado, como o contextLoads)
+ */
+@SpringBootTest
+class VersaoColecaoTest {
+
+	private static final int TOTAL_GRUPOS = 3;
+
+	@Autowired
+	private TurmaService turmaService;
+
+	@Autowired
+	private GrupoService grupoService;
+
+	@Autowired
+	private AulaPraticaService aulaPraticaService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private Integer turmaId;
+	private Integer aulaId;
+
+	@BeforeEach
+	void criarTurma() {
+		// Mesmo esquema do MarcarPresencaConcorrenciaTest: ano acima de qualquer turma já gravada
+		Integer ano = jdbcTemplate.queryForObject(
+				"SELECT GREATEST(COALESCE(MAX(ano), 0), 8999) + 1 FROM turmas", Integer.class);
+		turmaId = turmaService.criarTurma(new TurmaRequestDTO(ano,
+				Turma.Semestre.segundo, Turma.Turno.matutino, Turma.Unidade.bueno, Turma.DiaSemana.segunda,
+				"Versão das coleções", null, null)).getTurmaId();
+
+		for (int numero = 1; numero <= TOTAL_GRUPOS; numero++) {
+			grupoService.criarGrupo(new GrupoRequestDTO(turmaId, numero, "Grupo " + numero));
+		}
+
+		aulaId = aulaPraticaService.criarAula(new AulaPraticaRequestDTO(turmaId,
+				LocalDate.now().minusWeeks(1), 1, "Aula 1", null, null, null)).getAulaId();
+	}
+
+	@AfterEach
+	void removerTurma() {
+		jdbcTemplate.update("DELETE FROM eventos_outbox WHERE aula_id IN "
+				+ "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+		jdbcTemplate.update("DELETE FROM eventos_grupos WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM grupos_aulas WHERE aula_id IN "
+				+ "(SELECT aula_id FROM aulas_praticas WHERE turma_id = ?)", turmaId);
+		jdbcTemplate.update("DELETE FROM aulas_praticas WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM grupos WHERE turma_id = ?", turmaId);
+		jdbcTemplate.update("DELETE FROM turmas WHERE turma_id = ?", turmaId);
+	}
+
+	@Test
+	void alteracaoDeGrupoSemAvancarUpdatedAtMudaAETag() {
+		VersaoColecaoDTO antes = grupoService.getVersaoGruposByTurma(turmaId);
+
+		// Altera o primeiro grupo sem mexer em updated_at: o máximo da coleção continua o mesmo
+		jdbcTemplate.update("UPDATE grupos SET total_faltas = total_faltas + 1 "
+				+ "WHERE grupo_id = (SELECT MIN(grupo_id) FROM grupos WHERE turma_id = ?)", turmaId);
+		VersaoColecaoDTO depois = grupoService.getVersaoGruposByTurma(turmaId);
+
+		assertEquals(antes.getTotal(), depois.getTotal());
+		assertEquals(antes.getUltimaAlteracao(), depois.getUltimaAlteracao());
+		assertNotEquals(antes.etag("grupos", MediaType.APPLICATION_JSON),
+				depois.etag("grupos", MediaType.APPLICATION_JSON));
+	}
+
+	@Test
+	void alteracaoDeAulaSemAvancarUpdatedAtMudaAETag() {
+		VersaoColecaoDTO antes = aulaPraticaService.getVersaoAulasByTurma(turmaId);
+
+		jdbcTemplate.update("UPDATE aulas_praticas SET observacoes = 'Revisada' WHERE aula_id = ?", aulaId);
+		VersaoColecaoDTO depois = aulaPraticaService.getVersaoAulasByTurma(turmaId);
+
+		assertEquals(antes.getTotal(), depois.getTotal());
+		assertEquals(antes.getUltimaAlteracao(), depois.getUltimaAlteracao());
+		assertNotEquals(antes.etag("aulas", MediaType.APPLICATION_JSON),
+				depois.etag("aulas", MediaType.APPLICATION_JSON));
+	}
+}
@@ -0,0 +1,46 @@
+package com.laec.user_service.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Codificações binárias opcionais dos mesmos DTOs: Accept: application/cbor ou application/x-jackson-smile.
+ * O Spring MVC já registra esses conversores quando as bibliotecas estão no classpath, mas com um ObjectMapper
+ * sem as configurações do Spring Boot (datas viram arrays); aqui eles são substituídos na mesma posição,
+ * depois do JSON, então clientes sem Accept ou com Accept genérico continuam recebendo JSON.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ConversoresBinariosConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Builder é prototype: cada getObject() devolve um novo, com as customizações do Boot
+        substituir(converters, new MappingJackson2CborHttpMessageConverter(
+                builders.getObject().factory(new CBORFactory()).build()));
+        substituir(converters, new MappingJackson2SmileHttpMessageConverter(
+                builders.getObject().factory(new SmileFactory()).build()));
+    }
+
+    private static void substituir(List<HttpMessageConverter<?>> converters, HttpMessageConverter<?> conversor) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i).getClass() == conversor.getClass()) {
+                converters.set(i, conversor);
+                return;
+            }
+        }
+        converters.add(conversor);
+    }
+}
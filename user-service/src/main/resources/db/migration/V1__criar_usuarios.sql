@@ -0,0 +1,23 @@
+-- Esquema inicial do user-service
+-- Idempotente: em bancos criados antes do Flyway não altera nada.
+-- O user-service e o lab-service compartilham o banco, cada um com sua tabela de histórico do Flyway;
+-- grupo_id referencia grupos do lab-service e por isso não tem chave estrangeira aqui.
+
+CREATE TABLE IF NOT EXISTS usuarios (
+    id SERIAL PRIMARY KEY,
+    nome VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    username VARCHAR(255),
+    senha VARCHAR(255) NOT NULL,
+    tipo VARCHAR(255) NOT NULL,
+    ativo BOOLEAN NOT NULL DEFAULT true,
+    foto_url VARCHAR(255),
+    curso VARCHAR(255),
+    periodo VARCHAR(255),
+    telefone VARCHAR(255),
+    grupo_id INTEGER,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_usuarios_email UNIQUE (email),
+    CONSTRAINT uk_usuarios_username UNIQUE (username)
+);
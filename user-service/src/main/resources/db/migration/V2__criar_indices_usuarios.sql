@@ -0,0 +1,11 @@
+-- Índices das consultas do UsuarioRepository
+-- findByEmail/existsByEmail e findByUsername/existsByUsername já usam os índices únicos de email e username.
+
+-- findByTipo (GET /api/users/tipo/{tipo})
+CREATE INDEX IF NOT EXISTS idx_usuarios_tipo ON usuarios (tipo);
+
+-- findByAtivo: só os inativos são seletivos
+CREATE INDEX IF NOT EXISTS idx_usuarios_inativos ON usuarios (id) WHERE ativo = false;
+
+-- Membros de um grupo (usuarios.grupo_id) e o LEFT JOIN de findAllWithGrupoAndTurma
+CREATE INDEX IF NOT EXISTS idx_usuarios_grupo ON usuarios (grupo_id) WHERE grupo_id IS NOT NULL;
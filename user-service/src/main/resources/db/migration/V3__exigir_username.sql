@@ -0,0 +1,18 @@
+-- Username obrigatório (antes em ui-site-laec/database/enforce-username-not-null.sql)
+-- Usuários sem username recebem a parte local do email, em minúsculas. Se esse valor já estiver em uso,
+-- ou se repetir entre os usuários preenchidos aqui, recebe o id como sufixo para não violar uk_usuarios_username.
+
+UPDATE usuarios u
+SET username = CASE
+        WHEN EXISTS (SELECT 1 FROM usuarios o
+                     WHERE o.username = LOWER(SPLIT_PART(u.email, '@', 1)))
+          OR (SELECT COUNT(*) FROM usuarios d
+              WHERE d.username IS NULL
+                AND LOWER(SPLIT_PART(d.email, '@', 1)) = LOWER(SPLIT_PART(u.email, '@', 1))) > 1
+        THEN LOWER(SPLIT_PART(u.email, '@', 1)) || '-' || u.id
+        ELSE LOWER(SPLIT_PART(u.email, '@', 1))
+    END
+WHERE u.username IS NULL;
+
+ALTER TABLE usuarios
+ALTER COLUMN username SET NOT NULL;